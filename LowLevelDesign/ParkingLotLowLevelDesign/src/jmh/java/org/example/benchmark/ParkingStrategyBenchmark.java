@@ -0,0 +1,94 @@
+package org.example.benchmark;
+
+import org.example.domain.model.enums.VehicleType;
+import org.example.floor.Floor;
+import org.example.parkingspot.ParkingSpot;
+import org.example.parkingspot.ParkingSpotFactory;
+import org.example.parkingspot.compatibility.BitmaskSpotCompatibilityChecker;
+import org.example.parkingspot.compatibility.DefaultSpotCompatibilityChecker;
+import org.example.parkingspot.compatibility.SpotCompatibilityChecker;
+import org.example.strategy.parking.BitmapScanParkingStrategy;
+import org.example.strategy.parking.DefaultParkingStrategy;
+import org.example.strategy.parking.NearToEntranceParkingStrategy;
+import org.example.strategy.parking.ParkingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// One floor's spot search per strategy, at different floor sizes and occupancy levels
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParkingStrategyBenchmark {
+
+    @Param({"1000", "20000"})
+    private int spots;
+
+    @Param({"0.5", "0.95"})
+    private double occupancy;
+
+    private List<ParkingSpot> floor;
+    private Floor floorArrays;
+    private final SpotCompatibilityChecker checker = new DefaultSpotCompatibilityChecker();
+    private final SpotCompatibilityChecker bitmaskChecker = new BitmaskSpotCompatibilityChecker();
+    private final ParkingStrategy defaultStrategy = new DefaultParkingStrategy();
+    private final ParkingStrategy nearToEntranceStrategy = new NearToEntranceParkingStrategy();
+    private final ParkingStrategy bitmapScanStrategy = new BitmapScanParkingStrategy();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        VehicleType[] types = VehicleType.values();
+        floor = new ArrayList<>(spots);
+        for (int i = 0; i < spots; i++) {
+            VehicleType type = types[random.nextInt(types.length)];
+            ParkingSpot spot = ParkingSpotFactory.createSpot(type, 1, random.nextInt(1_000));
+            if (random.nextDouble() < occupancy) spot.tryOccupy(type);
+            floor.add(spot);
+        }
+        floorArrays = new Floor(1);
+        floorArrays.addSpots(floor);
+    }
+
+    @Benchmark
+    public ParkingSpot defaultStrategy() {
+        return defaultStrategy.findParkingSpot(floor, VehicleType.COMPACT, checker);
+    }
+
+    @Benchmark
+    public ParkingSpot nearToEntranceStrategy() {
+        return nearToEntranceStrategy.findParkingSpot(floor, VehicleType.COMPACT, checker);
+    }
+
+    @Benchmark
+    public ParkingSpot bitmapScanStrategy() {
+        return bitmapScanStrategy.findParkingSpot(floorArrays, VehicleType.COMPACT, bitmaskChecker);
+    }
+
+    @Benchmark
+    public List<ParkingSpot> defaultStrategyBatchOf64() {
+        return defaultStrategy.findParkingSpots(floor, VehicleType.COMPACT, checker, 64);
+    }
+
+    @Benchmark
+    public List<ParkingSpot> nearToEntranceStrategyBatchOf64() {
+        return nearToEntranceStrategy.findParkingSpots(floor, VehicleType.COMPACT, checker, 64);
+    }
+}
@@ -39,8 +39,8 @@ public class ParkingLotDemo {
         registry.registerEntrance(eNorth);
         registry.registerEntrance(eSouth);
 
-        ExitGate xNorth = new ExitGate("X1", "North Exit");
-        ExitGate xSouth = new ExitGate("X2", "South Exit");
+        ExitGate xNorth = new ExitGate("X1", "North Exit", manager);
+        ExitGate xSouth = new ExitGate("X2", "South Exit", manager);
         registry.registerExit(xNorth);
         registry.registerExit(xSouth);
 
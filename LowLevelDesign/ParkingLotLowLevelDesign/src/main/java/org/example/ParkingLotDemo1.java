@@ -57,8 +57,8 @@ public class ParkingLotDemo1 {
 
         if (ticket != null) {
             System.out.println("Ticket issued for floor: " + ticket.getParkingSpot().getFloorNumber());
-            ExitGate exit1 = new ExitGate("X1", "North Exit");
-            ExitGate exit2 = new ExitGate("X2", "South Exit");
+            ExitGate exit1 = new ExitGate("X1", "North Exit", manager);
+            ExitGate exit2 = new ExitGate("X2", "South Exit", manager);
 
             registry.registerExit(exit1);
             registry.registerExit(exit2);
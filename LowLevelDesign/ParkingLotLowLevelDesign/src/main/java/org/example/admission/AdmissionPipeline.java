@@ -0,0 +1,173 @@
+package org.example.admission;
+
+import org.example.domain.model.Ticket;
+import org.example.domain.model.Vehicle;
+import org.example.domain.model.enums.VehicleType;
+import org.example.parkingspot.ParkingSpot;
+import org.example.spotmanager.ParkingSpotManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gates enqueue vehicles into a bounded queue; a single dispatcher (virtual thread) drains
+ * the queue in batches and allocates spots with one strategy pass per vehicle type.
+ * A full queue pushes back on the gate instead of piling up work.
+ */
+public class AdmissionPipeline implements AutoCloseable {
+    // Fresh searches per request before it is completed as lot-full, in case search keeps
+    // returning spots that no claim can win (e.g. a stale index)
+    private static final int MAX_SEARCHES_PER_REQUEST = 8;
+
+    private final ParkingSpotManager manager;
+    private final BlockingQueue<AdmissionRequest> queue;
+    private final int batchSize;
+    private final Map<String, GateMetrics> gateMetrics = new ConcurrentHashMap<>();
+    private volatile Thread dispatcher;
+    private volatile boolean running = true;
+
+    private AdmissionPipeline(ParkingSpotManager manager, int queueCapacity, int batchSize) {
+        if (queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive");
+        }
+        this.manager = manager;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    // The dispatcher is started once the pipeline is fully constructed
+    public static AdmissionPipeline start(ParkingSpotManager manager, int queueCapacity, int batchSize) {
+        AdmissionPipeline pipeline = new AdmissionPipeline(manager, queueCapacity, batchSize);
+        pipeline.dispatcher = Thread.ofVirtual().name("admission-dispatcher").start(pipeline::dispatchLoop);
+        return pipeline;
+    }
+
+    public CompletableFuture<Ticket> submit(String gateId, Vehicle vehicle, long timeout, TimeUnit unit) throws InterruptedException {
+        GateMetrics metrics = getGateMetrics(gateId);
+        if (!running) {
+            throw new IllegalStateException("Admission pipeline is closed");
+        }
+        try {
+            // A gate-number collision fails this gate's request here, before any spot is claimed for it
+            manager.getTicketRegistry().resolveGate(gateId);
+        } catch (IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        AdmissionRequest request = new AdmissionRequest(gateId, vehicle);
+        if (!queue.offer(request, timeout, unit)) {
+            metrics.recordRejected();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Admission queue full at gate " + gateId));
+        }
+        return request.getResult();
+    }
+
+    public GateMetrics getGateMetrics(String gateId) {
+        return gateMetrics.computeIfAbsent(gateId, GateMetrics::new);
+    }
+
+    public Collection<GateMetrics> getAllGateMetrics() {
+        return gateMetrics.values();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void dispatchLoop() {
+        List<AdmissionRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AdmissionRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                batch.forEach(request -> request.getResult().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        queue.drainTo(batch);
+        batch.forEach(request -> request.getResult().completeExceptionally(new IllegalStateException("Admission pipeline is closed")));
+    }
+
+    private void dispatch(List<AdmissionRequest> batch) {
+        Map<VehicleType, List<AdmissionRequest>> byType = new EnumMap<>(VehicleType.class);
+        for (AdmissionRequest request : batch) {
+            byType.computeIfAbsent(request.getVehicle().getVehicleType(), type -> new ArrayList<>()).add(request);
+        }
+
+        for (Map.Entry<VehicleType, List<AdmissionRequest>> entry : byType.entrySet()) {
+            VehicleType vehicleType = entry.getKey();
+            List<AdmissionRequest> requests = entry.getValue();
+            Iterator<ParkingSpot> candidates = Collections.emptyIterator();
+            boolean lotFull = false;
+
+            for (int i = 0; i < requests.size(); i++) {
+                // Entrances booking directly may still win a candidate, so keep walking on a lost claim and
+                // look again once the candidates run out; the lot is full only when a fresh search finds nothing.
+                // A request that loses every claim over MAX_SEARCHES_PER_REQUEST searches is turned away as lot-full.
+                ParkingSpot claimed = null;
+                int searches = 0;
+                while (claimed == null && !lotFull) {
+                    if (!candidates.hasNext()) {
+                        if (searches++ == MAX_SEARCHES_PER_REQUEST) break;
+                        List<ParkingSpot> found = manager.findParkingSpots(vehicleType, requests.size() - i);
+                        lotFull = found.isEmpty();
+                        candidates = found.iterator();
+                        continue;
+                    }
+                    ParkingSpot spot = candidates.next();
+                    if (spot.tryOccupy(vehicleType)) claimed = spot;
+                }
+                complete(requests.get(i), claimed);
+            }
+        }
+    }
+
+    private void complete(AdmissionRequest request, ParkingSpot spot) {
+        GateMetrics metrics = getGateMetrics(request.getGateId());
+        long latency = System.nanoTime() - request.getEnqueuedAtNanos();
+        if (spot == null) {
+            metrics.recordLotFull(latency);
+            request.getResult().complete(null);
+            return;
+        }
+        Ticket ticket;
+        try {
+            ticket = manager.getTicketRegistry().issue(request.getGateId(), request.getVehicle(), spot);
+        } catch (RuntimeException e) {
+            // Give the spot back and fail only this request, not the rest of the batch
+            spot.vacateParkingSpot();
+            request.getResult().completeExceptionally(e);
+            return;
+        }
+        metrics.recordAdmitted(latency);
+        request.getResult().complete(ticket);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
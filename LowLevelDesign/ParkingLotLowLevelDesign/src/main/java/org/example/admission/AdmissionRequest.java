@@ -0,0 +1,35 @@
+package org.example.admission;
+
+import org.example.domain.model.Ticket;
+import org.example.domain.model.Vehicle;
+
+import java.util.concurrent.CompletableFuture;
+
+class AdmissionRequest {
+    private final String gateId;
+    private final Vehicle vehicle;
+    private final long enqueuedAtNanos;
+    private final CompletableFuture<Ticket> result = new CompletableFuture<>();
+
+    AdmissionRequest(String gateId, Vehicle vehicle) {
+        this.gateId = gateId;
+        this.vehicle = vehicle;
+        this.enqueuedAtNanos = System.nanoTime();
+    }
+
+    String getGateId() {
+        return gateId;
+    }
+
+    Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    long getEnqueuedAtNanos() {
+        return enqueuedAtNanos;
+    }
+
+    CompletableFuture<Ticket> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.admission;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GateMetrics {
+    private final String gateId;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder lotFull = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    public GateMetrics(String gateId) {
+        this.gateId = gateId;
+    }
+
+    void recordAdmitted(long latencyNanos) {
+        admitted.increment();
+        recordLatency(latencyNanos);
+    }
+
+    void recordLotFull(long latencyNanos) {
+        lotFull.increment();
+        recordLatency(latencyNanos);
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulate(latencyNanos);
+    }
+
+    public String getGateId() {
+        return gateId;
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    public long getLotFull() {
+        return lotFull.sum();
+    }
+
+    // Vehicles turned away because the admission queue was full (backpressure)
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getAverageLatencyMicros() {
+        long processed = admitted.sum() + lotFull.sum();
+        return processed == 0 ? 0 : totalLatencyNanos.sum() / processed / 1_000;
+    }
+
+    public long getMaxLatencyMicros() {
+        return maxLatencyNanos.get() / 1_000;
+    }
+
+    @Override
+    public String toString() {
+        return "Gate: " + gateId + ", Admitted: " + getAdmitted() + ", Full: " + getLotFull()
+                + ", Rejected: " + getRejected() + ", AvgLatency(us): " + getAverageLatencyMicros()
+                + ", MaxLatency(us): " + getMaxLatencyMicros();
+    }
+}
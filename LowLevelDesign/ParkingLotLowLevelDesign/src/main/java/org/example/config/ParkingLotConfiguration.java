@@ -1,9 +1,23 @@
 package org.example.config;
+import org.example.admission.AdmissionPipeline;
+import org.example.domain.model.enums.VehicleType;
+import org.example.spotmanager.OccupancySource;
+import org.example.spotmanager.ParkingSpotManager;
+import org.example.strategy.cost.CostComputation;
+import org.example.strategy.cost.pricing.DynamicPricingEngine;
+import org.example.strategy.cost.pricing.PricingSchedule;
+import org.example.strategy.cost.tariff.TariffLoader;
+import org.example.strategy.cost.tariff.TariffTableStrategy;
 import org.example.strategy.parking.NearToEntranceParkingStrategy;
 import org.example.strategy.parking.ParkingStrategy;
 import org.example.strategy.payment.CreditCardPayment;
 import org.example.strategy.payment.PaymentStrategy;
 
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
 public class ParkingLotConfiguration {
 
     public ParkingStrategy parkingStrategy() {
@@ -13,4 +27,32 @@ public class ParkingLotConfiguration {
     public PaymentStrategy defaultPaymentStrategy() {
         return new CreditCardPayment("2134-2345-2445-4124");
     }
+
+    public CostComputation costComputation() {
+        return new TariffTableStrategy(TariffLoader.loadDefault());
+    }
+
+    // Weekday rush hours cost 1.5x, weekends are cheaper, and a nearly full lot adds a surge on top
+    public CostComputation dynamicPricing(OccupancySource occupancySource) {
+        Set<DayOfWeek> weekdays = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+        Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+        PricingSchedule.Builder builder = new PricingSchedule.Builder()
+                .surge(0.80, 1.25)
+                .surge(0.95, 1.5);
+        int[] baseRates = {50, 100, 150};
+        int[] dailyCaps = {800, 1500, 2500};
+        for (VehicleType type : VehicleType.values()) {
+            int base = baseRates[type.ordinal()];
+            builder.baseHourlyRate(type, base)
+                    .dailyCap(type, dailyCaps[type.ordinal()])
+                    .window(weekdays, LocalTime.of(8, 0), LocalTime.of(11, 0), type, base * 3 / 2)
+                    .window(weekdays, LocalTime.of(17, 0), LocalTime.of(20, 0), type, base * 3 / 2)
+                    .window(weekend, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, type, base * 4 / 5);
+        }
+        return new DynamicPricingEngine(builder.build(), occupancySource);
+    }
+
+    public AdmissionPipeline admissionPipeline(ParkingSpotManager manager) {
+        return AdmissionPipeline.start(manager, 1024, 64);
+    }
 }
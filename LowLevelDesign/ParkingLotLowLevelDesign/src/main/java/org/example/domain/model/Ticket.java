@@ -6,18 +6,30 @@ import org.example.parkingspot.ParkingSpot;
 import java.time.LocalDateTime;
 
 public class Ticket {
+    private final long ticketId;
+    private final String vehicleNumber;
     private final int floorNo;
     private final LocalDateTime time;
     private final VehicleType vehicleType;
     private final ParkingSpot parkingSpot;
 
     private Ticket(Builder builder) {
+        this.ticketId = builder.ticketId;
+        this.vehicleNumber = builder.vehicleNumber;
         this.floorNo = builder.floorNo;
         this.time = builder.time;
         this.vehicleType = builder.vehicleType;
         this.parkingSpot = builder.parkingSpot;
     }
 
+    public long getTicketId() {
+        return ticketId;
+    }
+
+    public String getVehicleNumber() {
+        return vehicleNumber;
+    }
+
     public int getFloorNo() {
         return floorNo;
     }
@@ -36,11 +48,23 @@ public class Ticket {
 
 
     public static class Builder {
+        private long ticketId;
+        private String vehicleNumber;
         private int floorNo;
         private LocalDateTime time;
         private VehicleType vehicleType;
         private ParkingSpot parkingSpot;
 
+        public Builder ticketId(long ticketId) {
+            this.ticketId = ticketId;
+            return this;
+        }
+
+        public Builder vehicleNumber(String vehicleNumber) {
+            this.vehicleNumber = vehicleNumber;
+            return this;
+        }
+
         public Builder floorNo(int floorNo) {
             this.floorNo = floorNo;
             return this;
@@ -1,12 +1,14 @@
 package org.example.entrance;
 
+import org.example.admission.AdmissionPipeline;
 import org.example.strategy.cost.CostComputation;
 import org.example.parkingspot.ParkingSpot;
 import org.example.spotmanager.ParkingSpotManager;
 import org.example.domain.model.Ticket;
 import org.example.domain.model.Vehicle;
 
-import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class Entrance {
     private final String id;
@@ -28,15 +30,16 @@ public class Entrance {
     }
 
     public Ticket bookSpotAndGiveTicket(Vehicle vehicle) {
+        manager.getTicketRegistry().resolveGate(id); // a gate-number collision fails before a spot is taken
         ParkingSpot spot = manager.findParkingSpot(vehicle.getVehicleType());
         if (spot != null &&  spot.tryOccupy(vehicle.getVehicleType())) {
-            return new Ticket.Builder()
-                    .floorNo(spot.getFloorNumber())
-                    .time(LocalDateTime.now())
-                    .vehicleType(vehicle.getVehicleType())
-                    .parkingSpot(spot)
-                    .build();
+            return manager.getTicketRegistry().issue(id, vehicle, spot);
         }
         return null;
     }
+
+    // Peak-time entry: hand the vehicle to the batched pipeline, waiting at most admissionTimeoutMillis for queue space
+    public CompletableFuture<Ticket> enqueueForAdmission(Vehicle vehicle, AdmissionPipeline pipeline, long admissionTimeoutMillis) throws InterruptedException {
+        return pipeline.submit(id, vehicle, admissionTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
 }
@@ -1,19 +1,31 @@
 package org.example.exit;
 
 import org.example.strategy.cost.CostComputation;
-import org.example.strategy.cost.CostComputationStrategyResolver;
+import org.example.strategy.cost.tariff.TariffLoader;
+import org.example.strategy.cost.tariff.TariffTableStrategy;
 import org.example.domain.model.Ticket;
 import org.example.domain.model.enums.VehicleType;
+import org.example.service.TicketRegistry;
+import org.example.spotmanager.ParkingSpotManager;
 
 import java.time.LocalDateTime;
 
 public class ExitGate {
     private String id;
     private String name;
+    private final CostComputation costComputation;
+    private final TicketRegistry ticketRegistry;
 
-    public ExitGate(String id, String name) {
+    public ExitGate(String id, String name, ParkingSpotManager manager) {
+        this(id, name, new TariffTableStrategy(TariffLoader.loadDefault()), manager);
+    }
+
+    // Closes tickets in the same registry the entrances issue them from
+    public ExitGate(String id, String name, CostComputation costComputation, ParkingSpotManager manager) {
         this.id = id;
         this.name = name;
+        this.costComputation = costComputation;
+        this.ticketRegistry = manager.getTicketRegistry();
     }
 
     public String getId() {
@@ -25,14 +37,17 @@ public class ExitGate {
 
     public int processExitAndReturnCost(Ticket ticket, LocalDateTime exitTime){
         VehicleType vehicleType = ticket.getVehicleType();
+        return costComputation.calculateCostForTicket(vehicleType, ticket, exitTime);
+    }
 
-        CostComputationStrategyResolver resolver = new CostComputationStrategyResolver();
-        CostComputation strategy = resolver.resolveStrategy(ticket, exitTime);
-        return strategy.calculateCostForTicket(vehicleType, ticket, exitTime);
+    // Resolves a scanned barcode; returns null if the ticket is unknown or already closed
+    public Ticket findTicket(long ticketId) {
+        return ticketRegistry.findByTicketId(ticketId);
     }
 
     public void vacateParking(Ticket ticket) {
         ticket.getParkingSpot().vacateParkingSpot();
+        ticketRegistry.close(ticket.getTicketId());
     }
 }
 
@@ -0,0 +1,221 @@
+package org.example.federation;
+
+import org.example.domain.model.Ticket;
+import org.example.domain.model.Vehicle;
+import org.example.domain.model.enums.VehicleType;
+import org.example.floor.Floor;
+import org.example.parkingspot.ParkingSpot;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes vehicles across many lots. Lots are bucketed into a lat/lon grid so a lookup only
+ * inspects the rings of cells around the driver, and each lot answers availability from its
+ * occupancy counters. Advance reservations hold a concrete spot until they are claimed or expire.
+ */
+public class ParkingFederation implements AutoCloseable {
+    private static final double DEFAULT_CELL_DEGREES = 0.05; // roughly 5 km
+    private static final int MAX_RINGS = 20;
+    private static final int MAX_CLAIM_ATTEMPTS = 16;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final double cellDegrees;
+    private final Map<String, ParkingLotNode> lots = new ConcurrentHashMap<>();
+    private final Map<Long, List<ParkingLotNode>> grid = new ConcurrentHashMap<>();
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+    private final DelayQueue<Reservation> expiryQueue = new DelayQueue<>();
+    private final AtomicLong nextReservationId = new AtomicLong(1);
+    private final Thread expirySweeper;
+    private volatile boolean closed;
+
+    public ParkingFederation() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    public ParkingFederation(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.expirySweeper = Thread.ofVirtual().name("reservation-expiry").start(this::sweepExpired);
+    }
+
+    public void registerLot(ParkingLotNode lot) {
+        if (lots.putIfAbsent(lot.getLotId(), lot) != null) {
+            throw new IllegalArgumentException("Lot " + lot.getLotId() + " already registered");
+        }
+        grid.computeIfAbsent(cellKey(cellOf(lot.getLatitude()), cellOf(lot.getLongitude())), key -> new CopyOnWriteArrayList<>()).add(lot);
+    }
+
+    public ParkingLotNode getLot(String lotId) {
+        return lots.get(lotId);
+    }
+
+    public Collection<ParkingLotNode> getLots() {
+        return lots.values();
+    }
+
+    private int cellOf(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xFFFFFFFFL);
+    }
+
+    // Nearest lot with a free spot for the vehicle type, or null if none within MAX_RINGS cells
+    public ParkingLotNode findNearestAvailableLot(VehicleType vehicleType, double latitude, double longitude) {
+        return findNearestAvailableLot(vehicleType, latitude, longitude, Set.of());
+    }
+
+    private ParkingLotNode findNearestAvailableLot(VehicleType vehicleType, double latitude, double longitude, Set<String> excluded) {
+        int latCell = cellOf(latitude);
+        int lonCell = cellOf(longitude);
+        ParkingLotNode best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (int ring = 0; ring <= MAX_RINGS; ring++) {
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                for (int dLon = -ring; dLon <= ring; dLon++) {
+                    if (Math.abs(dLat) != ring && Math.abs(dLon) != ring) continue; // ring border only
+                    List<ParkingLotNode> cell = grid.get(cellKey(latCell + dLat, lonCell + dLon));
+                    if (cell == null) continue;
+                    for (ParkingLotNode lot : cell) {
+                        if (lot.freeSpots(vehicleType) <= 0 || excluded.contains(lot.getLotId())) continue;
+                        double distance = lot.distanceKm(latitude, longitude);
+                        if (distance < bestDistance) {
+                            best = lot;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+            // Lots in later rings lie outside the square searched so far, so they cannot beat one closer than its edge
+            if (best != null && bestDistance <= searchedRadiusKm(latitude, longitude, latCell, lonCell, ring)) {
+                return best;
+            }
+        }
+        return best;
+    }
+
+    // Distance from the point to the nearest edge of the square of cells covered by rings 0..ring
+    private double searchedRadiusKm(double latitude, double longitude, int latCell, int lonCell, int ring) {
+        double latEdge = Math.min(latitude - (latCell - ring) * cellDegrees, (latCell + ring + 1) * cellDegrees - latitude);
+        double lonEdge = Math.min(longitude - (lonCell - ring) * cellDegrees, (lonCell + ring + 1) * cellDegrees - longitude);
+        double toLatEdge = EARTH_RADIUS_KM * Math.toRadians(latEdge);
+        // Great-circle distance from the point to the meridian lonEdge degrees away
+        double toLonEdge = EARTH_RADIUS_KM * Math.asin(Math.min(1.0,
+                Math.cos(Math.toRadians(latitude)) * Math.sin(Math.toRadians(Math.min(lonEdge, 90.0)))));
+        return Math.min(toLatEdge, toLonEdge);
+    }
+
+    public long totalFreeSpots(VehicleType vehicleType) {
+        long total = 0;
+        for (ParkingLotNode lot : lots.values()) {
+            total += lot.freeSpots(vehicleType);
+        }
+        return total;
+    }
+
+    // Holds a spot in the lot until claimed or until holdFor elapses; null if the lot is full or
+    // MAX_CLAIM_ATTEMPTS spots in a row were taken by gates before they could be held
+    public Reservation reserve(String lotId, VehicleType vehicleType, Duration holdFor) {
+        if (closed) {
+            throw new IllegalStateException("Parking federation is closed");
+        }
+        ParkingLotNode lot = lots.get(lotId);
+        if (lot == null) {
+            throw new IllegalArgumentException("No such lot " + lotId);
+        }
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            ParkingSpot spot = lot.getManager().findParkingSpot(vehicleType);
+            if (spot == null) return null;
+            if (!spot.tryOccupy(vehicleType)) continue; // lost the spot to a gate, look again
+            Floor floor = lot.getManager().getFloor(spot.getFloorNumber());
+            int spotIndex = floor == null ? -1 : floor.indexOf(spot.getSpotId());
+            Reservation reservation = new Reservation(nextReservationId.getAndIncrement(), lotId, vehicleType,
+                    spot, spotIndex, System.nanoTime() + holdFor.toNanos());
+            reservations.put(reservation.getReservationId(), reservation);
+            expiryQueue.add(reservation);
+            if (closed) {
+                // close() ran while this spot was being held; release it unless close() already did
+                if (reservations.remove(reservation.getReservationId(), reservation)) {
+                    expiryQueue.remove(reservation);
+                    spot.vacateParkingSpot();
+                }
+                throw new IllegalStateException("Parking federation is closed");
+            }
+            return reservation;
+        }
+        return null;
+    }
+
+    // Reserve at the nearest lot that has room, for "where can I park" requests. A lot that cannot
+    // hold a spot is skipped for the rest of the request, so each lot is tried at most once.
+    public Reservation reserveNearest(VehicleType vehicleType, double latitude, double longitude, Duration holdFor) {
+        Set<String> tried = new HashSet<>();
+        while (true) {
+            ParkingLotNode lot = findNearestAvailableLot(vehicleType, latitude, longitude, tried);
+            if (lot == null) return null;
+            Reservation reservation = reserve(lot.getLotId(), vehicleType, holdFor);
+            if (reservation != null) return reservation;
+            tried.add(lot.getLotId());
+        }
+    }
+
+    // Converts a live reservation into a ticket at the arrival gate; null if unknown or expired
+    public Ticket claim(long reservationId, String gateId, Vehicle vehicle) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) return null;
+        expiryQueue.remove(reservation);
+        if (reservation.isExpired()) {
+            reservation.getSpot().vacateParkingSpot();
+            return null;
+        }
+        return lots.get(reservation.getLotId()).getManager().getTicketRegistry().issue(gateId, vehicle, reservation.getSpot());
+    }
+
+    public void cancel(long reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation != null) {
+            expiryQueue.remove(reservation);
+            reservation.getSpot().vacateParkingSpot();
+        }
+    }
+
+    public int getActiveReservationCount() {
+        return reservations.size();
+    }
+
+    private void sweepExpired() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Reservation expired = expiryQueue.take();
+                // Only release if a claim or cancel did not win the race for this reservation
+                if (reservations.remove(expired.getReservationId(), expired)) {
+                    expired.getSpot().vacateParkingSpot();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Stops the expiry sweeper and releases every spot still held by a reservation
+    @Override
+    public void close() {
+        closed = true;
+        expirySweeper.interrupt();
+        for (Reservation reservation : reservations.values()) {
+            if (reservations.remove(reservation.getReservationId(), reservation)) {
+                expiryQueue.remove(reservation);
+                reservation.getSpot().vacateParkingSpot();
+            }
+        }
+    }
+}
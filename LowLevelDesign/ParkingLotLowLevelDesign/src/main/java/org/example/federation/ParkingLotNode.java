@@ -0,0 +1,52 @@
+package org.example.federation;
+
+import org.example.domain.model.enums.VehicleType;
+import org.example.spotmanager.ParkingSpotManager;
+
+public class ParkingLotNode {
+    private final String lotId;
+    private final double latitude;
+    private final double longitude;
+    private final ParkingSpotManager manager;
+
+    public ParkingLotNode(String lotId, double latitude, double longitude, ParkingSpotManager manager) {
+        this.lotId = lotId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.manager = manager;
+    }
+
+    public String getLotId() {
+        return lotId;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public ParkingSpotManager getManager() {
+        return manager;
+    }
+
+    // Read from the lot's occupancy counters; held reservations already count as occupied
+    public long freeSpots(VehicleType vehicleType) {
+        return manager.freeSpots(vehicleType);
+    }
+
+    double distanceKm(double lat, double lon) {
+        double dLat = Math.toRadians(lat - latitude);
+        double dLon = Math.toRadians(lon - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(lat)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371.0 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    @Override
+    public String toString() {
+        return "Lot: " + lotId + " (" + latitude + ", " + longitude + ")";
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.federation;
+
+import org.example.domain.model.enums.VehicleType;
+import org.example.parkingspot.ParkingSpot;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+public class Reservation implements Delayed {
+    private final long reservationId;
+    private final String lotId;
+    private final VehicleType vehicleType;
+    private final ParkingSpot spot;
+    private final int spotIndex;
+    private final long expiresAtNanos;
+
+    Reservation(long reservationId, String lotId, VehicleType vehicleType, ParkingSpot spot, int spotIndex, long expiresAtNanos) {
+        this.reservationId = reservationId;
+        this.lotId = lotId;
+        this.vehicleType = vehicleType;
+        this.spot = spot;
+        this.spotIndex = spotIndex;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public long getReservationId() {
+        return reservationId;
+    }
+
+    public String getLotId() {
+        return lotId;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType;
+    }
+
+    public ParkingSpot getSpot() {
+        return spot;
+    }
+
+    // Stable index of the held spot on its floor, -1 if the spot is not on a floor of the lot
+    public int getSpotIndex() {
+        return spotIndex;
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(expiresAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public String toString() {
+        return "Reservation: " + reservationId + ", Lot: " + lotId + ", " + spot;
+    }
+}
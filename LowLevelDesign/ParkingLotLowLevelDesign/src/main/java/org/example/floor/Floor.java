@@ -1,41 +1,261 @@
 package org.example.floor;
 
+import org.example.domain.model.enums.VehicleType;
 import org.example.parkingspot.ParkingSpot;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+/**
+ * Spots live in a copy-on-write layout: entrance threads read the current immutable layout
+ * without locking, while maintenance (add, remove, convert) builds a new layout and publishes it.
+ * Each spot keeps a stable integer index for its lifetime on the floor; an index freed by a removal
+ * is handed to the next spot added. Every change copies the layout, so build floors with addSpots.
+ */
 public class Floor {
     private int floorNumber;
-    private List<ParkingSpot> parkingSpotList;
+    private volatile Layout layout = Layout.EMPTY;
+
+    private static final class Layout {
+        static final int TYPES = VehicleType.values().length;
+        static final Layout EMPTY = of(new ParkingSpot[0]);
+
+        final ParkingSpot[] slots;                 // by stable index, null once removed
+        final Map<String, Integer> indexBySpotId;
+        final List<ParkingSpot> activeSpots;       // slot order, no holes
+
+        // Struct-of-arrays view of the same slots for scans: one bitset per spot type,
+        // distances by index, and occupancy bits mirrored from the spots
+        final long[][] typeBits;
+        final int[] distances;
+        final AtomicLongArray occupiedBits;
+
+        private Layout(ParkingSpot[] slots, Map<String, Integer> indexBySpotId, List<ParkingSpot> activeSpots,
+                       long[][] typeBits, int[] distances, AtomicLongArray occupiedBits) {
+            this.slots = slots;
+            this.indexBySpotId = indexBySpotId;
+            this.activeSpots = activeSpots;
+            this.typeBits = typeBits;
+            this.distances = distances;
+            this.occupiedBits = occupiedBits;
+        }
+
+        static Layout of(ParkingSpot[] slots) {
+            Map<String, Integer> index = new HashMap<>();
+            List<ParkingSpot> active = new ArrayList<>();
+            int words = (slots.length + 63) >>> 6;
+            long[][] typeBits = new long[TYPES][words];
+            int[] distances = new int[slots.length];
+            AtomicLongArray occupiedBits = new AtomicLongArray(words);
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] == null) continue;
+                index.put(slots[i].getSpotId(), i);
+                active.add(slots[i]);
+                typeBits[slots[i].getSpotType().ordinal()][i >>> 6] |= 1L << i;
+                distances[i] = slots[i].getDistanceFromEntrance();
+            }
+            Layout layout = new Layout(slots, Map.copyOf(index), List.copyOf(active), typeBits, distances, occupiedBits);
+            layout.syncOccupancy();
+            return layout;
+        }
+
+        void setOccupied(int index, boolean occupied) {
+            long bit = 1L << index;
+            if (occupied) {
+                occupiedBits.accumulateAndGet(index >>> 6, bit, (word, b) -> word | b);
+            } else {
+                occupiedBits.accumulateAndGet(index >>> 6, ~bit, (word, b) -> word & b);
+            }
+        }
+
+        void syncOccupancy() {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != null) syncOccupancy(i);
+            }
+        }
+
+        // Under the spot's monitor, so a transition notified at the same time cannot be overwritten with a stale value
+        void syncOccupancy(int index) {
+            ParkingSpot spot = slots[index];
+            synchronized (spot) {
+                setOccupied(index, !spot.isEmpty());
+            }
+        }
+
+        // Free, compatible slots in word w as a bitmask
+        long freeCandidates(int spotTypeMask, int w) {
+            long candidates = 0;
+            for (int type = 0; type < TYPES; type++) {
+                if (((spotTypeMask >>> type) & 1) != 0) candidates |= typeBits[type][w];
+            }
+            return candidates & ~occupiedBits.get(w);
+        }
+    }
 
     public Floor(int floorNumber) {
         this.floorNumber = floorNumber;
-        this.parkingSpotList =  new ArrayList<ParkingSpot>();
     }
 
     public int getFloorNumber() {
         return floorNumber;
     }
 
-    public void addSpot(ParkingSpot spot){
-        this.parkingSpotList.add(spot);
+    private void publish(ParkingSpot[] slots) {
+        Layout next = Layout.of(slots);
+        layout = next;
+        // Catch occupy/vacate calls that landed on the previous layout while this one was built
+        next.syncOccupancy();
     }
 
-    public ParkingSpot removeSpot(String spotId) {
-        Iterator<ParkingSpot> iterator = this.parkingSpotList.iterator();
-        while (iterator.hasNext()) {
-            ParkingSpot spot = iterator.next();
-            if (spot.getSpotId().equals(spotId)) {
-                iterator.remove();
-                return spot;
+    // Returns the stable index assigned to the spot; copies the layout, so prefer addSpots for many spots
+    public synchronized int addSpot(ParkingSpot spot){
+        return addSpots(List.of(spot))[0];
+    }
+
+    // Bulk variant for initial setup or opening a section: one copy instead of one per spot.
+    // Fills indices freed by removals first; returns the index assigned to each spot, in order.
+    public synchronized int[] addSpots(Collection<ParkingSpot> spots) {
+        Layout current = layout;
+        Map<String, Integer> seen = new HashMap<>(current.indexBySpotId);
+        for (ParkingSpot spot : spots) {
+            requireOnThisFloor(spot);
+            if (seen.put(spot.getSpotId(), -1) != null) {
+                throw new IllegalArgumentException("Spot " + spot.getSpotId() + " already on floor " + floorNumber);
             }
         }
-        return null;
+        int holes = current.slots.length - current.activeSpots.size();
+        ParkingSpot[] slots = Arrays.copyOf(current.slots, current.slots.length + Math.max(0, spots.size() - holes));
+        int[] indices = new int[spots.size()];
+        int next = 0;
+        int i = 0;
+        for (ParkingSpot spot : spots) {
+            while (slots[next] != null) next++;
+            slots[next] = spot;
+            indices[i++] = next;
+        }
+        publish(slots);
+        return indices;
     }
 
+    private void requireOnThisFloor(ParkingSpot spot) {
+        if (spot.getFloorNumber() != floorNumber) {
+            throw new IllegalArgumentException("Spot " + spot.getSpotId() + " belongs to floor " + spot.getFloorNumber()
+                    + ", not floor " + floorNumber);
+        }
+    }
+
+    public synchronized ParkingSpot removeSpot(String spotId) {
+        List<ParkingSpot> removed = removeSpots(List.of(spotId));
+        return removed.isEmpty() ? null : removed.get(0);
+    }
+
+    // Closes a whole section with a single layout swap
+    public synchronized List<ParkingSpot> removeSpots(Collection<String> spotIds) {
+        Layout current = layout;
+        ParkingSpot[] slots = current.slots.clone();
+        List<ParkingSpot> removed = new ArrayList<>();
+        for (String spotId : spotIds) {
+            Integer index = current.indexBySpotId.get(spotId);
+            if (index == null || slots[index] == null) continue;
+            removed.add(slots[index]);
+            slots[index] = null;
+        }
+        if (!removed.isEmpty()) {
+            publish(slots);
+        }
+        return removed;
+    }
+
+    // Swaps a spot in place (e.g. EV conversion) keeping its index; returns the old spot
+    public synchronized ParkingSpot replaceSpot(String spotId, ParkingSpot replacement) {
+        Layout current = layout;
+        Integer index = current.indexBySpotId.get(spotId);
+        if (index == null) {
+            throw new IllegalArgumentException("No spot " + spotId + " on floor " + floorNumber);
+        }
+        requireOnThisFloor(replacement);
+        if (!spotId.equals(replacement.getSpotId()) && current.indexBySpotId.containsKey(replacement.getSpotId())) {
+            throw new IllegalArgumentException("Spot " + replacement.getSpotId() + " already on floor " + floorNumber);
+        }
+        ParkingSpot[] slots = current.slots.clone();
+        ParkingSpot previous = slots[index];
+        slots[index] = replacement;
+        publish(slots);
+        return previous;
+    }
+
+    public ParkingSpot getSpot(String spotId) {
+        Layout current = layout;
+        Integer index = current.indexBySpotId.get(spotId);
+        return index == null ? null : current.slots[index];
+    }
+
+    public ParkingSpot getSpot(int spotIndex) {
+        ParkingSpot[] slots = layout.slots;
+        return spotIndex >= 0 && spotIndex < slots.length ? slots[spotIndex] : null;
+    }
+
+    // -1 if the spot is not on this floor
+    public int indexOf(String spotId) {
+        Integer index = layout.indexBySpotId.get(spotId);
+        return index == null ? -1 : index;
+    }
+
+    public int getSpotCount() {
+        return layout.activeSpots.size();
+    }
+
+    // Immutable snapshot; safe to iterate while the floor is being reconfigured
     public List<ParkingSpot> getParkingSpotList() {
-        return parkingSpotList;
+        return layout.activeSpots;
+    }
+
+    // Mirrors a spot transition into the occupancy bits; the spot itself stays the source of truth.
+    // Called under the spot's monitor (see SpotStateListener), so the bits follow each spot's transitions in order.
+    public void onSpotStateChanged(ParkingSpot spot, boolean occupied) {
+        Layout current = layout;
+        Integer index = current.indexBySpotId.get(spot.getSpotId());
+        if (index != null && current.slots[index] == spot) {
+            current.setOccupied(index, occupied);
+        }
+    }
+
+    // Analytics scan: popcount over the bitsets, no spot objects touched
+    public int countFreeSpots(int spotTypeMask) {
+        Layout current = layout;
+        int free = 0;
+        for (int w = 0; w < current.occupiedBits.length(); w++) {
+            free += Long.bitCount(current.freeCandidates(spotTypeMask, w));
+        }
+        return free;
+    }
+
+    // Closest free compatible spot; null if none. A candidate is only taken after its spot confirms it is
+    // empty, and a bit found stale is repaired on the way, so the bits can never keep handing out a taken spot.
+    public ParkingSpot findNearestFreeSpot(int spotTypeMask) {
+        Layout current = layout;
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int w = 0; w < current.occupiedBits.length(); w++) {
+            long candidates = current.freeCandidates(spotTypeMask, w);
+            while (candidates != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(candidates);
+                if (current.distances[index] < bestDistance) {
+                    if (current.slots[index].isEmpty()) {
+                        bestDistance = current.distances[index];
+                        best = index;
+                    } else {
+                        current.syncOccupancy(index);
+                    }
+                }
+                candidates &= candidates - 1;
+            }
+        }
+        return best < 0 ? null : current.slots[best];
     }
 }
@@ -0,0 +1,89 @@
+package org.example.journal;
+
+import org.example.domain.model.Ticket;
+import org.example.domain.model.enums.VehicleType;
+import org.example.parkingspot.ParkingSpot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout shared by journal segments and snapshots. Each journal record is
+ * [int bodyLength][body][int crc32(body)], where body starts with the event type byte;
+ * a bad length or checksum marks a torn tail and ends replay.
+ */
+class JournalCodec {
+    static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+    private final DataOutputStream bodyOut = new DataOutputStream(body);
+    private final CRC32 crc = new CRC32();
+
+    void writeRecord(JournalEvent event, DataOutput out) throws IOException {
+        body.reset();
+        bodyOut.writeByte(event.type());
+        switch (event.type()) {
+            case JournalEvent.OCCUPY, JournalEvent.VACATE -> bodyOut.writeUTF(event.spotId());
+            case JournalEvent.TICKET_ISSUED -> writeTicket(event.ticket(), bodyOut);
+            case JournalEvent.TICKET_CLOSED -> bodyOut.writeLong(event.ticketId());
+            default -> throw new IllegalArgumentException("Unknown journal event " + event.type());
+        }
+        bodyOut.flush();
+        crc.reset();
+        crc.update(body.toByteArray(), 0, body.size());
+        out.writeInt(body.size());
+        out.write(body.toByteArray(), 0, body.size());
+        out.writeInt((int) crc.getValue());
+    }
+
+    // Returns null at end of file or at the first torn/corrupt record
+    static byte[] readRecordBody(ByteBuffer in) {
+        if (in.remaining() < Integer.BYTES) return null;
+        int length = in.getInt();
+        if (length <= 0 || length > MAX_RECORD_BYTES || in.remaining() < length + Integer.BYTES) return null;
+        byte[] record = new byte[length];
+        in.get(record);
+        int expected = in.getInt();
+        CRC32 check = new CRC32();
+        check.update(record);
+        return (int) check.getValue() == expected ? record : null;
+    }
+
+    static void writeTicket(Ticket ticket, DataOutput out) throws IOException {
+        out.writeLong(ticket.getTicketId());
+        out.writeUTF(ticket.getVehicleNumber() == null ? "" : ticket.getVehicleNumber());
+        out.writeByte(ticket.getVehicleType().ordinal());
+        out.writeUTF(ticket.getParkingSpot().getSpotId());
+        out.writeInt(ticket.getFloorNo());
+        out.writeLong(ticket.getTime().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(ticket.getTime().getNano());
+    }
+
+    // Returns null if the ticket's spot no longer exists in the rebuilt layout
+    static Ticket readTicket(DataInput in, Map<String, ParkingSpot> spotsById) throws IOException {
+        long ticketId = in.readLong();
+        String vehicleNumber = in.readUTF();
+        VehicleType vehicleType = VehicleType.values()[in.readByte()];
+        String spotId = in.readUTF();
+        int floorNo = in.readInt();
+        LocalDateTime time = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        ParkingSpot spot = spotsById.get(spotId);
+        if (spot == null) return null;
+        return new Ticket.Builder()
+                .ticketId(ticketId)
+                .vehicleNumber(vehicleNumber.isEmpty() ? null : vehicleNumber)
+                .vehicleType(vehicleType)
+                .parkingSpot(spot)
+                .floorNo(floorNo)
+                .time(time)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.journal;
+
+import org.example.domain.model.Ticket;
+
+record JournalEvent(byte type, String spotId, Ticket ticket, long ticketId) {
+    static final byte OCCUPY = 1;
+    static final byte VACATE = 2;
+    static final byte TICKET_ISSUED = 3;
+    static final byte TICKET_CLOSED = 4;
+
+    static JournalEvent occupy(String spotId) {
+        return new JournalEvent(OCCUPY, spotId, null, 0);
+    }
+
+    static JournalEvent vacate(String spotId) {
+        return new JournalEvent(VACATE, spotId, null, 0);
+    }
+
+    static JournalEvent ticketIssued(Ticket ticket) {
+        return new JournalEvent(TICKET_ISSUED, null, ticket, ticket.getTicketId());
+    }
+
+    static JournalEvent ticketClosed(long ticketId) {
+        return new JournalEvent(TICKET_CLOSED, null, null, ticketId);
+    }
+}
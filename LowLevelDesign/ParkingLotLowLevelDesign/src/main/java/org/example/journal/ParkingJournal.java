@@ -0,0 +1,326 @@
+package org.example.journal;
+
+import org.example.domain.model.Ticket;
+import org.example.floor.Floor;
+import org.example.parkingspot.ParkingSpot;
+import org.example.parkingspot.SpotStateListener;
+import org.example.service.TicketListener;
+import org.example.service.TicketRegistry;
+import org.example.spotmanager.ParkingSpotManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of occupy/vacate/ticket events for one ParkingSpotManager.
+ * Gate threads only enqueue; a writer thread group-commits each drained batch with a single
+ * write + fsync. Every snapshotEveryEvents events the writer snapshots the live state and starts
+ * a new journal generation, so recovery is one snapshot load plus a short replay.
+ * <p>
+ * Replay is last-write-wins per spot and per ticket, so events that were already reflected in a
+ * snapshot can safely be replayed on top of it. Spot events are enqueued under the spot's monitor
+ * (see SpotStateListener), so each spot's events are journaled in the order they happened. The spot
+ * layout must be rebuilt with the same spot ids before calling {@link #open}.
+ * <p>
+ * If a write fails the journal stops: it detaches from the manager, drops queued events and reports
+ * the failure from {@link #getFailure} and {@link #close}.
+ */
+public class ParkingJournal implements SpotStateListener, TicketListener, AutoCloseable {
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final int SNAPSHOT_MAGIC = 0x504B534E; // "PKSN"
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final ParkingSpotManager manager;
+    private final int snapshotEveryEvents;
+    private final BlockingQueue<JournalEvent> queue = new LinkedBlockingQueue<>();
+    private final JournalCodec codec = new JournalCodec();
+    private final ByteArrayOutputStream batchBytes = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream batchOut = new DataOutputStream(batchBytes);
+    private final Thread writer;
+
+    private long generation;
+    private FileChannel channel;
+    private long eventsSinceSnapshot;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    private ParkingJournal(Path directory, ParkingSpotManager manager, int snapshotEveryEvents) {
+        this.directory = directory;
+        this.manager = manager;
+        this.snapshotEveryEvents = snapshotEveryEvents;
+        this.writer = new Thread(this::writeLoop, "parking-journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    // Restores state from the directory into the manager, then starts journaling new events
+    public static ParkingJournal open(Path directory, ParkingSpotManager manager, int snapshotEveryEvents) throws IOException {
+        Files.createDirectories(directory);
+        ParkingJournal journal = new ParkingJournal(directory, manager, snapshotEveryEvents);
+        journal.recover();
+        manager.addSpotStateListener(journal);
+        manager.getTicketRegistry().addListener(journal);
+        journal.writer.start();
+        return journal;
+    }
+
+    @Override
+    public void onOccupied(ParkingSpot spot) {
+        enqueue(JournalEvent.occupy(spot.getSpotId()));
+    }
+
+    @Override
+    public void onVacated(ParkingSpot spot) {
+        enqueue(JournalEvent.vacate(spot.getSpotId()));
+    }
+
+    @Override
+    public void onTicketIssued(Ticket ticket) {
+        enqueue(JournalEvent.ticketIssued(ticket));
+    }
+
+    @Override
+    public void onTicketClosed(Ticket ticket) {
+        enqueue(JournalEvent.ticketClosed(ticket.getTicketId()));
+    }
+
+    private void enqueue(JournalEvent event) {
+        if (failure == null) queue.add(event);
+    }
+
+    // The write error that stopped the journal, or null while it is healthy
+    public IOException getFailure() {
+        return failure;
+    }
+
+    private Path segment(long generation) {
+        return directory.resolve("journal-" + generation + ".log");
+    }
+
+    private Map<String, ParkingSpot> spotsById() {
+        Map<String, ParkingSpot> spots = new HashMap<>();
+        for (Floor floor : manager.getAllFloors()) {
+            for (ParkingSpot spot : floor.getParkingSpotList()) {
+                spots.put(spot.getSpotId(), spot);
+            }
+        }
+        return spots;
+    }
+
+    private void recover() throws IOException {
+        Map<String, ParkingSpot> spots = spotsById();
+        TicketRegistry registry = manager.getTicketRegistry();
+        long start = System.nanoTime();
+
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            generation = loadSnapshot(snapshot, spots, registry);
+        }
+
+        Path current = segment(generation);
+        int replayed = 0;
+        if (Files.exists(current)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(current));
+            int validEnd = 0;
+            byte[] record;
+            while ((record = JournalCodec.readRecordBody(buffer)) != null) {
+                apply(record, spots, registry);
+                validEnd = buffer.position();
+                replayed++;
+            }
+            if (validEnd < buffer.capacity()) {
+                // Drop a torn tail so new records append after the last complete one
+                try (FileChannel truncate = FileChannel.open(current, StandardOpenOption.WRITE)) {
+                    truncate.truncate(validEnd);
+                }
+            }
+        }
+        deleteOlderSegments();
+
+        channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        System.out.println("Journal recovered generation " + generation + ": " + registry.getActiveTicketCount()
+                + " active tickets, " + replayed + " events replayed in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void apply(byte[] record, Map<String, ParkingSpot> spots, TicketRegistry registry) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        switch (in.readByte()) {
+            case JournalEvent.OCCUPY -> {
+                ParkingSpot spot = spots.get(in.readUTF());
+                if (spot != null && spot.isEmpty()) spot.tryOccupy(spot.getSpotType());
+            }
+            case JournalEvent.VACATE -> {
+                ParkingSpot spot = spots.get(in.readUTF());
+                if (spot != null) spot.vacateParkingSpot();
+            }
+            case JournalEvent.TICKET_ISSUED -> {
+                Ticket ticket = JournalCodec.readTicket(in, spots);
+                if (ticket != null) registry.register(ticket);
+            }
+            case JournalEvent.TICKET_CLOSED -> registry.close(in.readLong());
+            default -> throw new IOException("Unknown journal event in " + segment(generation));
+        }
+    }
+
+    private long loadSnapshot(Path snapshot, Map<String, ParkingSpot> spots, TicketRegistry registry) throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshot);
+        if (bytes.length < 16) {
+            throw new IOException("Corrupt parking snapshot " + snapshot);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Integer.BYTES);
+        if (ByteBuffer.wrap(bytes, bytes.length - Integer.BYTES, Integer.BYTES).getInt() != (int) crc.getValue()) {
+            throw new IOException("Corrupt parking snapshot " + snapshot);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a parking snapshot: " + snapshot);
+        }
+        long snapshotGeneration = in.readLong();
+        int occupied = in.readInt();
+        for (int i = 0; i < occupied; i++) {
+            ParkingSpot spot = spots.get(in.readUTF());
+            if (spot != null && spot.isEmpty()) spot.tryOccupy(spot.getSpotType());
+        }
+        int tickets = in.readInt();
+        for (int i = 0; i < tickets; i++) {
+            Ticket ticket = JournalCodec.readTicket(in, spots);
+            if (ticket != null) registry.register(ticket);
+        }
+        return snapshotGeneration;
+    }
+
+    private void deleteOlderSegments() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith("journal-") && name.endsWith(".log")) {
+                    long fileGeneration = Long.parseLong(name.substring("journal-".length(), name.length() - ".log".length()));
+                    if (fileGeneration < generation) Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<JournalEvent> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (running || !queue.isEmpty()) {
+                JournalEvent first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                commit(batch);
+                eventsSinceSnapshot += batch.size();
+                batch.clear();
+                if (eventsSinceSnapshot >= snapshotEveryEvents) {
+                    snapshot();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            fail(e instanceof IOException io ? io : new IOException("Parking journal write failed", e));
+        }
+    }
+
+    // Stops journaling after a write error instead of letting the queue grow with no writer
+    private void fail(IOException e) {
+        failure = e;
+        running = false;
+        manager.removeSpotStateListener(this);
+        manager.getTicketRegistry().removeListener(this);
+        queue.clear();
+        System.err.println("Parking journal stopped, events are no longer persisted: " + e);
+    }
+
+    // Group commit: one write and one fsync for the whole batch
+    private void commit(List<JournalEvent> batch) throws IOException {
+        batchBytes.reset();
+        for (JournalEvent event : batch) {
+            codec.writeRecord(event, batchOut);
+        }
+        batchOut.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(batchBytes.toByteArray(), 0, batchBytes.size());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private void snapshot() throws IOException {
+        long nextGeneration = generation + 1;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeLong(nextGeneration);
+
+        List<String> occupied = new ArrayList<>();
+        for (Floor floor : manager.getAllFloors()) {
+            for (ParkingSpot spot : floor.getParkingSpotList()) {
+                if (!spot.isEmpty()) occupied.add(spot.getSpotId());
+            }
+        }
+        out.writeInt(occupied.size());
+        for (String spotId : occupied) out.writeUTF(spotId);
+
+        List<Ticket> tickets = manager.getTicketRegistry().getActiveTickets();
+        out.writeInt(tickets.size());
+        for (Ticket ticket : tickets) JournalCodec.writeTicket(ticket, out);
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel snapshotChannel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) snapshotChannel.write(buffer);
+            snapshotChannel.force(true);
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // Events still queued were applied in memory before the snapshot and go to the new segment
+        channel.close();
+        Path previous = segment(generation);
+        generation = nextGeneration;
+        channel = FileChannel.open(segment(generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        Files.deleteIfExists(previous);
+        eventsSinceSnapshot = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        manager.removeSpotStateListener(this);
+        manager.getTicketRegistry().removeListener(this);
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
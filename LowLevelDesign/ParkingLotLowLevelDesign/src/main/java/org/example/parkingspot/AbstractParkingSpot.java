@@ -7,12 +7,18 @@ import java.util.UUID;
 public abstract class AbstractParkingSpot implements ParkingSpot {
 
     protected final String spotId;
-    protected boolean isOccupied;
+    protected volatile boolean isOccupied;
     protected int floorNumber;
     protected int distanceFromEntrance;
+    protected volatile SpotStateListener stateListener;
 
     public AbstractParkingSpot(int floorNumber, int distanceFromEntrance) {
-        this.spotId = UUID.randomUUID().toString(); //  auto-generate
+        this(UUID.randomUUID().toString(), floorNumber, distanceFromEntrance); //  auto-generate
+    }
+
+    // Stable ids let a rebuilt layout be matched against the journal after a restart
+    public AbstractParkingSpot(String spotId, int floorNumber, int distanceFromEntrance) {
+        this.spotId = spotId;
         this.floorNumber = floorNumber;
         this.distanceFromEntrance = distanceFromEntrance;
         this.isOccupied = false;
@@ -25,7 +31,18 @@ public abstract class AbstractParkingSpot implements ParkingSpot {
 
     @Override
     public void vacateParkingSpot() {
-        isOccupied = false;
+        synchronized (this) {
+            if (!isOccupied) return;
+            isOccupied = false;
+            // Notified under the monitor so listeners see this spot's transitions in order
+            SpotStateListener listener = stateListener;
+            if (listener != null) listener.onVacated(this);
+        }
+    }
+
+    @Override
+    public void setStateListener(SpotStateListener stateListener) {
+        this.stateListener = stateListener;
     }
 
     @Override
@@ -47,12 +64,14 @@ public abstract class AbstractParkingSpot implements ParkingSpot {
     protected abstract boolean isCompatible(VehicleType vehicleType);
 
     @Override
-    public synchronized boolean tryOccupy(VehicleType vehicleType){
-        if (!isOccupied && isCompatible(vehicleType)) {
+    public boolean tryOccupy(VehicleType vehicleType){
+        synchronized (this) {
+            if (isOccupied || !isCompatible(vehicleType)) return false;
             isOccupied = true;
-            return true;
+            SpotStateListener listener = stateListener;
+            if (listener != null) listener.onOccupied(this);
         }
-        return false;
+        return true;
     };
 
     @Override
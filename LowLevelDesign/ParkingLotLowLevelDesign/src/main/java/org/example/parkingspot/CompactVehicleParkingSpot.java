@@ -8,7 +8,16 @@ public class CompactVehicleParkingSpot extends AbstractParkingSpot {
         super(floor, dist);
     }
 
+    public CompactVehicleParkingSpot(String spotId, int floor, int dist) {
+        super(spotId, floor, dist);
+    }
+
+    @Override
+    public VehicleType getSpotType() {
+        return VehicleType.COMPACT;
+    }
+
     protected boolean isCompatible(VehicleType vehicleType) {
-        return vehicleType == VehicleType.MINI;
+        return vehicleType == VehicleType.COMPACT;
     };
 }
@@ -7,7 +7,16 @@ public class LargeVehicleParkingSpot extends AbstractParkingSpot {
         super(floor, dist);
     }
 
+    public LargeVehicleParkingSpot(String spotId, int floor, int dist) {
+        super(spotId, floor, dist);
+    }
+
+    @Override
+    public VehicleType getSpotType() {
+        return VehicleType.LARGE;
+    }
+
     protected boolean isCompatible(VehicleType vehicleType) {
-        return vehicleType == VehicleType.MINI;
+        return vehicleType == VehicleType.LARGE;
     };
 }
@@ -8,6 +8,15 @@ public class MiniVehicleParkingSpot extends AbstractParkingSpot {
         super(floor, dist);
     }
 
+    public MiniVehicleParkingSpot(String spotId, int floor, int dist) {
+        super(spotId, floor, dist);
+    }
+
+    @Override
+    public VehicleType getSpotType() {
+        return VehicleType.MINI;
+    }
+
     @Override
     protected boolean isCompatible(VehicleType vehicleType) {
         return vehicleType == VehicleType.MINI;
@@ -4,9 +4,11 @@ import org.example.domain.model.enums.VehicleType;
 
 public interface ParkingSpot {
     String getSpotId();
+    VehicleType getSpotType();
     boolean isEmpty();
     boolean tryOccupy(VehicleType vehicleType);
     void vacateParkingSpot();
     int getFloorNumber();
     int getDistanceFromEntrance();
+    void setStateListener(SpotStateListener stateListener);
 }
@@ -10,4 +10,12 @@ public class ParkingSpotFactory {
             case LARGE -> new LargeVehicleParkingSpot(floor, distance);
         };
     }
+
+    public static ParkingSpot createSpot(String spotId, VehicleType type, int floor, int distance) {
+        return switch (type) {
+            case MINI -> new MiniVehicleParkingSpot(spotId, floor, distance);
+            case COMPACT -> new CompactVehicleParkingSpot(spotId, floor, distance);
+            case LARGE -> new LargeVehicleParkingSpot(spotId, floor, distance);
+        };
+    }
 }
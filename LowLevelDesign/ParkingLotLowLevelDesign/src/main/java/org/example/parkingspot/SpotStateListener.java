@@ -0,0 +1,9 @@
+package org.example.parkingspot;
+
+// Called while the spot's monitor is held, so one spot's occupy/vacate events arrive in the order they
+// happened; events of different spots are not ordered. Listeners must be quick and must not block or
+// touch other spots.
+public interface SpotStateListener {
+    void onOccupied(ParkingSpot spot);
+    void onVacated(ParkingSpot spot);
+}
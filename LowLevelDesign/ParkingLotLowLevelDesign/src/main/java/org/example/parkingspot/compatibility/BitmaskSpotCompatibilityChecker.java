@@ -0,0 +1,25 @@
+package org.example.parkingspot.compatibility;
+
+import org.example.domain.model.enums.VehicleType;
+import org.example.parkingspot.ParkingSpot;
+
+public class BitmaskSpotCompatibilityChecker implements SpotCompatibilityChecker {
+    private final SpotCompatibilityMatrix matrix;
+
+    public BitmaskSpotCompatibilityChecker() {
+        this(SpotCompatibilityMatrix.exactMatch());
+    }
+
+    public BitmaskSpotCompatibilityChecker(SpotCompatibilityMatrix matrix) {
+        this.matrix = matrix;
+    }
+
+    public SpotCompatibilityMatrix getMatrix() {
+        return matrix;
+    }
+
+    @Override
+    public boolean isCompatible(ParkingSpot spot, VehicleType vehicleType) {
+        return matrix.isCompatible(vehicleType, spot.getSpotType());
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.parkingspot.compatibility;
+
+import org.example.domain.model.enums.VehicleType;
+
+// VehicleType x spot type compatibility as one bitmask per vehicle type; bit i = spot type with ordinal i.
+// Only the exact-match rules are offered: each spot's tryOccupy enforces exact matching itself, so a
+// wider matrix would make searches return spots that every claim then refuses.
+public class SpotCompatibilityMatrix {
+    private static final SpotCompatibilityMatrix EXACT_MATCH = new SpotCompatibilityMatrix(exactMatchMasks());
+
+    private final int[] masks;
+
+    private SpotCompatibilityMatrix(int[] masks) {
+        this.masks = masks;
+    }
+
+    // Same rules as DefaultSpotCompatibilityChecker: each vehicle type parks in its own spot type
+    public static SpotCompatibilityMatrix exactMatch() {
+        return EXACT_MATCH;
+    }
+
+    private static int[] exactMatchMasks() {
+        int[] masks = new int[VehicleType.values().length];
+        for (VehicleType type : VehicleType.values()) masks[type.ordinal()] = 1 << type.ordinal();
+        return masks;
+    }
+
+    public int mask(VehicleType vehicleType) {
+        return masks[vehicleType.ordinal()];
+    }
+
+    public boolean isCompatible(VehicleType vehicleType, VehicleType spotType) {
+        return ((masks[vehicleType.ordinal()] >>> spotType.ordinal()) & 1) != 0;
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent map from non-zero long keys to values without boxing the keys. Keys are spread over
+ * lock stripes; each stripe is an open-addressing table with linear probing and backward-shift
+ * deletion, so there are no tombstones and lookups stay short.
+ */
+class LongKeyedConcurrentMap<V> {
+    private static final int STRIPES = 64;
+    private static final long EMPTY = 0L;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    LongKeyedConcurrentMap() {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private Stripe stripe(int hash) {
+        return stripes[(hash >>> 26) & (STRIPES - 1)];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int hash = mix(key);
+        return (V) stripe(hash).get(key, hash);
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (key == EMPTY) throw new IllegalArgumentException("Key 0 is reserved");
+        int hash = mix(key);
+        return (V) stripe(hash).put(key, hash, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int hash = mix(key);
+        return (V) stripe(hash).remove(key, hash);
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) size += stripe.size();
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<V> action) {
+        for (Stripe stripe : stripes) {
+            for (Object value : stripe.values()) action.accept((V) value);
+        }
+    }
+
+    private static final class Stripe {
+        private long[] keys = new long[16];
+        private Object[] values = new Object[16];
+        private int size;
+
+        synchronized Object get(long key, int hash) {
+            int mask = keys.length - 1;
+            for (int i = hash & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return null;
+        }
+
+        synchronized Object put(long key, int hash, Object value) {
+            if ((size + 1) * 4 > keys.length * 3) resize();
+            int mask = keys.length - 1;
+            int i = hash & mask;
+            for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    Object previous = values[i];
+                    values[i] = value;
+                    return previous;
+                }
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+            return null;
+        }
+
+        synchronized Object remove(long key, int hash) {
+            int mask = keys.length - 1;
+            int i = hash & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) return null;
+                i = (i + 1) & mask;
+            }
+            Object previous = values[i];
+            // Shift following entries of the probe run back so lookups never stop early
+            int hole = i;
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = mix(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = EMPTY;
+            values[hole] = null;
+            size--;
+            return previous;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized List<Object> values() {
+            List<Object> result = new ArrayList<>(size);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) result.add(values[i]);
+            }
+            return result;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Object[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int k = 0; k < oldKeys.length; k++) {
+                if (oldKeys[k] == EMPTY) continue;
+                int i = mix(oldKeys[k]) & mask;
+                while (keys[i] != EMPTY) i = (i + 1) & mask;
+                keys[i] = oldKeys[k];
+                values[i] = oldValues[k];
+            }
+        }
+    }
+}
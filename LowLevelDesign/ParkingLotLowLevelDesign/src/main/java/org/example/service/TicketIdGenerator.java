@@ -0,0 +1,54 @@
+package org.example.service;
+
+/**
+ * Snowflake-style 64-bit ticket ids: 41 bits of milliseconds since EPOCH_MILLIS,
+ * 10 bits of gate number and 12 bits of per-millisecond sequence. Ids from one gate
+ * are monotonic and ids from different gates never collide.
+ */
+public class TicketIdGenerator {
+    public static final long EPOCH_MILLIS = 1735689600000L; // 2025-01-01T00:00:00Z
+    static final int GATE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_GATES = 1 << GATE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long gateNumber;
+    private long lastMillis = -1;
+    private long sequence;
+
+    public TicketIdGenerator(int gateNumber) {
+        if (gateNumber < 0 || gateNumber >= MAX_GATES) {
+            throw new IllegalArgumentException("Gate number must be between 0 and " + (MAX_GATES - 1));
+        }
+        this.gateNumber = gateNumber;
+    }
+
+    public int getGateNumber() {
+        return (int) gateNumber;
+    }
+
+    public synchronized long nextId() {
+        long now = System.currentTimeMillis();
+        if (now < lastMillis) {
+            now = lastMillis; // clock moved back; keep ids monotonic
+        }
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                while (now <= lastMillis) now = System.currentTimeMillis();
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+        return ((now - EPOCH_MILLIS) << (GATE_BITS + SEQUENCE_BITS)) | (gateNumber << SEQUENCE_BITS) | sequence;
+    }
+
+    public static long issuedAtMillis(long ticketId) {
+        return (ticketId >>> (GATE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int gateNumber(long ticketId) {
+        return (int) ((ticketId >>> SEQUENCE_BITS) & (MAX_GATES - 1));
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.service;
+
+import org.example.domain.model.Ticket;
+
+public interface TicketListener {
+    void onTicketIssued(Ticket ticket);
+    void onTicketClosed(Ticket ticket);
+}
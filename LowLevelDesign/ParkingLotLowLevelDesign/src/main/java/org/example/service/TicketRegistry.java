@@ -0,0 +1,131 @@
+package org.example.service;
+
+import org.example.domain.model.Ticket;
+import org.example.domain.model.Vehicle;
+import org.example.parkingspot.ParkingSpot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Issues ticket ids and holds every active ticket, so exits resolve a scanned id or plate in O(1)
+public class TicketRegistry {
+    private final LongKeyedConcurrentMap<Ticket> activeTickets = new LongKeyedConcurrentMap<>();
+    private final Map<String, Long> ticketIdByPlate = new ConcurrentHashMap<>();
+    private final Map<String, TicketIdGenerator> generatorsByGate = new ConcurrentHashMap<>();
+    private final Map<Integer, String> gateIdsByNumber = new ConcurrentHashMap<>();
+    private final List<TicketListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(TicketListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TicketListener listener) {
+        listeners.remove(listener);
+    }
+
+    private TicketIdGenerator generator(String gateId) {
+        TicketIdGenerator generator = generatorsByGate.get(gateId);
+        return generator != null ? generator : register(gateId, defaultGateNumber(gateId));
+    }
+
+    // Derived from the gate id alone, so a gate keeps its number (and its id range) across restarts:
+    // the id's trailing number when it has one (E1 -> 1), otherwise a hash of the id
+    public static int defaultGateNumber(String gateId) {
+        int digits = gateId.length();
+        while (digits > 0 && Character.isDigit(gateId.charAt(digits - 1)) && gateId.length() - digits < 4) digits--;
+        if (digits < gateId.length()) {
+            int number = Integer.parseInt(gateId.substring(digits));
+            if (number < TicketIdGenerator.MAX_GATES) return number;
+        }
+        return Math.floorMod(gateId.hashCode(), TicketIdGenerator.MAX_GATES);
+    }
+
+    // Fixes the gate's ticket number now, throwing IllegalStateException on a collision, so gates can
+    // check before occupying a spot rather than failing in issue() with the spot already taken
+    public void resolveGate(String gateId) {
+        generator(gateId);
+    }
+
+    // Pins a gate's number, e.g. when two gate ids map to the same default number; call before the gate issues tickets
+    public void registerGate(String gateId, int gateNumber) {
+        register(gateId, gateNumber);
+    }
+
+    private synchronized TicketIdGenerator register(String gateId, int gateNumber) {
+        TicketIdGenerator existing = generatorsByGate.get(gateId);
+        if (existing != null) {
+            if (existing.getGateNumber() != gateNumber) {
+                throw new IllegalStateException("Gate " + gateId + " already issues tickets as gate number " + existing.getGateNumber());
+            }
+            return existing;
+        }
+        TicketIdGenerator generator = new TicketIdGenerator(gateNumber);
+        String owner = gateIdsByNumber.putIfAbsent(gateNumber, gateId);
+        if (owner != null) {
+            throw new IllegalStateException("Gates " + owner + " and " + gateId + " both map to ticket gate number "
+                    + gateNumber + "; register one of them with another number");
+        }
+        generatorsByGate.put(gateId, generator);
+        return generator;
+    }
+
+    // Call after the spot has been occupied for the vehicle
+    public Ticket issue(String gateId, Vehicle vehicle, ParkingSpot spot) {
+        Ticket ticket = new Ticket.Builder()
+                .ticketId(generator(gateId).nextId())
+                .vehicleNumber(vehicle.getVehicleNumber())
+                .floorNo(spot.getFloorNumber())
+                .time(LocalDateTime.now())
+                .vehicleType(vehicle.getVehicleType())
+                .parkingSpot(spot)
+                .build();
+        register(ticket);
+        for (TicketListener listener : listeners) {
+            listener.onTicketIssued(ticket);
+        }
+        return ticket;
+    }
+
+    public void register(Ticket ticket) {
+        activeTickets.put(ticket.getTicketId(), ticket);
+        if (ticket.getVehicleNumber() != null) {
+            ticketIdByPlate.put(ticket.getVehicleNumber(), ticket.getTicketId());
+        }
+    }
+
+    public Ticket findByTicketId(long ticketId) {
+        return activeTickets.get(ticketId);
+    }
+
+    public Ticket findByVehicleNumber(String vehicleNumber) {
+        Long ticketId = ticketIdByPlate.get(vehicleNumber);
+        return ticketId == null ? null : activeTickets.get(ticketId);
+    }
+
+    public Ticket close(long ticketId) {
+        Ticket ticket = activeTickets.remove(ticketId);
+        if (ticket != null && ticket.getVehicleNumber() != null) {
+            ticketIdByPlate.remove(ticket.getVehicleNumber(), ticketId);
+        }
+        if (ticket != null) {
+            for (TicketListener listener : listeners) {
+                listener.onTicketClosed(ticket);
+            }
+        }
+        return ticket;
+    }
+
+    public int getActiveTicketCount() {
+        return activeTickets.size();
+    }
+
+    public List<Ticket> getActiveTickets() {
+        List<Ticket> tickets = new ArrayList<>();
+        activeTickets.forEachValue(tickets::add);
+        return tickets;
+    }
+}
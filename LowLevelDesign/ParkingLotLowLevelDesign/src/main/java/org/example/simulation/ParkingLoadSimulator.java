@@ -0,0 +1,162 @@
+package org.example.simulation;
+
+import org.example.domain.model.Ticket;
+import org.example.domain.model.Vehicle;
+import org.example.domain.model.enums.VehicleType;
+import org.example.exit.ExitGate;
+import org.example.floor.Floor;
+import org.example.parkingspot.ParkingSpot;
+import org.example.parkingspot.ParkingSpotFactory;
+import org.example.spotmanager.ParkingSpotManager;
+import org.example.strategy.cost.tariff.TariffLoader;
+import org.example.strategy.cost.tariff.TariffTableStrategy;
+import org.example.strategy.parking.BitmapScanParkingStrategy;
+import org.example.strategy.parking.DefaultParkingStrategy;
+import org.example.strategy.parking.NearToEntranceParkingStrategy;
+import org.example.strategy.parking.ParkingStrategy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a synthetic trace against a ParkingSpotManager: each gate is a virtual thread producing
+ * Poisson arrivals, and every admitted car is a virtual thread that stays for an exponential time
+ * and then exits. Reports allocation latency percentiles, lost-claim retries and throughput.
+ */
+public class ParkingLoadSimulator {
+    private static final int MAX_ADMIT_ATTEMPTS = 32;
+
+    private final SimulationConfig config;
+    private final VehicleType[] types = VehicleType.values();
+    private final double[] cumulativeMix;
+
+    public ParkingLoadSimulator(SimulationConfig config) {
+        this.config = config;
+        this.cumulativeMix = new double[types.length];
+        double total = config.getVehicleMix().values().stream().mapToDouble(Double::doubleValue).sum();
+        double running = 0;
+        for (int i = 0; i < types.length; i++) {
+            running += config.getVehicleMix().getOrDefault(types[i], 0.0) / total;
+            cumulativeMix[i] = running;
+        }
+    }
+
+    private VehicleType pickType(double sample) {
+        for (int i = 0; i < types.length; i++) {
+            if (sample < cumulativeMix[i]) return types[i];
+        }
+        return types[types.length - 1];
+    }
+
+    private ParkingSpotManager buildLot(ParkingStrategy strategy) {
+        ParkingSpotManager manager = new ParkingSpotManager();
+        manager.setParkingStrategy(strategy);
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        for (int floorNumber = 1; floorNumber <= config.getFloors(); floorNumber++) {
+            manager.addFloor(new Floor(floorNumber));
+            List<ParkingSpot> spots = new ArrayList<>(config.getSpotsPerFloor());
+            for (int i = 0; i < config.getSpotsPerFloor(); i++) {
+                spots.add(ParkingSpotFactory.createSpot(pickType(random.nextDouble()), floorNumber, random.nextInt(1_000)));
+            }
+            manager.addSpotsToFloor(floorNumber, spots);
+        }
+        return manager;
+    }
+
+    public SimulationReport run(ParkingStrategy strategy) throws InterruptedException {
+        ParkingSpotManager manager = buildLot(strategy);
+        ExitGate exitGate = new ExitGate("X1", "Sim Exit", new TariffTableStrategy(TariffLoader.loadDefault()), manager);
+
+        long[] latencies = new long[config.getVehicles()];
+        AtomicInteger recorded = new AtomicInteger();
+        LongAdder admitted = new LongAdder();
+        LongAdder full = new LongAdder();
+        LongAdder retries = new LongAdder();
+
+        double meanGapNanos = 1e9 * config.getGates() / config.getArrivalsPerSecond();
+        long start = System.nanoTime();
+        long elapsed;
+
+        try (ExecutorService cars = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> gates = new ArrayList<>();
+            for (int g = 0; g < config.getGates(); g++) {
+                String gateId = "E" + (g + 1);
+                // The first vehicles % gates gates take one extra vehicle so every vehicle arrives
+                int perGate = config.getVehicles() / config.getGates() + (g < config.getVehicles() % config.getGates() ? 1 : 0);
+                SplittableRandom random = new SplittableRandom(config.getSeed() + g + 1);
+                gates.add(Thread.ofVirtual().name("sim-gate-" + gateId).start(() -> {
+                    long nextArrival = System.nanoTime();
+                    for (int i = 0; i < perGate; i++) {
+                        nextArrival += (long) exponential(random, meanGapNanos);
+                        long wait = nextArrival - System.nanoTime();
+                        if (wait > 0) LockSupport.parkNanos(wait);
+
+                        Vehicle vehicle = new Vehicle.Builder()
+                                .vehicleType(pickType(random.nextDouble()))
+                                .vehicleNumber(gateId + "-" + i)
+                                .build();
+                        long allocationStart = System.nanoTime();
+                        Ticket ticket = admit(manager, gateId, vehicle, retries);
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - allocationStart;
+                        if (ticket == null) {
+                            full.increment();
+                            continue;
+                        }
+                        admitted.increment();
+                        long stayNanos = (long) exponential(random, config.getMeanStayMillis() * 1e6);
+                        cars.submit(() -> {
+                            LockSupport.parkNanos(stayNanos);
+                            exitGate.processExitAndReturnCost(ticket, LocalDateTime.now());
+                            exitGate.vacateParking(ticket);
+                        });
+                    }
+                }));
+            }
+            for (Thread gate : gates) gate.join();
+            elapsed = System.nanoTime() - start; // arrival phase only; closing waits for parked cars to leave
+        }
+        long[] measured = new long[recorded.get()];
+        System.arraycopy(latencies, 0, measured, 0, measured.length);
+        return new SimulationReport(strategy.getClass().getSimpleName(), admitted.sum(), full.sum(), retries.sum(), elapsed, measured);
+    }
+
+    // Same as Entrance.bookSpotAndGiveTicket, but retries when another gate claims the spot first;
+    // after MAX_ADMIT_ATTEMPTS lost claims the vehicle is turned away as if the lot were full
+    private static Ticket admit(ParkingSpotManager manager, String gateId, Vehicle vehicle, LongAdder retries) {
+        for (int attempt = 0; attempt < MAX_ADMIT_ATTEMPTS; attempt++) {
+            ParkingSpot spot = manager.findParkingSpot(vehicle.getVehicleType());
+            if (spot == null) return null;
+            if (spot.tryOccupy(vehicle.getVehicleType())) {
+                return manager.getTicketRegistry().issue(gateId, vehicle, spot);
+            }
+            retries.increment();
+        }
+        return null;
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -mean * Math.log(1.0 - random.nextDouble());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        SimulationConfig config = new SimulationConfig.Builder()
+                .gates(args.length > 0 ? Integer.parseInt(args[0]) : 4)
+                .vehicles(args.length > 1 ? Integer.parseInt(args[1]) : 50_000)
+                .arrivalsPerSecond(args.length > 2 ? Double.parseDouble(args[2]) : 10_000)
+                .spotsPerFloor(2_000)
+                .build();
+        ParkingLoadSimulator simulator = new ParkingLoadSimulator(config);
+        System.out.println("*** Parking load simulation: " + config.getGates() + " gates, " + config.getVehicles()
+                + " vehicles, " + config.getArrivalsPerSecond() + " arrivals/s ***");
+        for (ParkingStrategy strategy : List.of(new DefaultParkingStrategy(), new NearToEntranceParkingStrategy(), new BitmapScanParkingStrategy())) {
+            System.out.println(simulator.run(strategy));
+        }
+    }
+}
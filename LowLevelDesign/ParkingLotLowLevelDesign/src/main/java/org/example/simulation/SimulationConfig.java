@@ -0,0 +1,122 @@
+package org.example.simulation;
+
+import org.example.domain.model.enums.VehicleType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class SimulationConfig {
+    private final int gates;
+    private final int floors;
+    private final int spotsPerFloor;
+    private final int vehicles;
+    private final double arrivalsPerSecond;
+    private final double meanStayMillis;
+    private final Map<VehicleType, Double> vehicleMix;
+    private final long seed;
+
+    private SimulationConfig(Builder builder) {
+        this.gates = builder.gates;
+        this.floors = builder.floors;
+        this.spotsPerFloor = builder.spotsPerFloor;
+        this.vehicles = builder.vehicles;
+        this.arrivalsPerSecond = builder.arrivalsPerSecond;
+        this.meanStayMillis = builder.meanStayMillis;
+        this.vehicleMix = Map.copyOf(builder.vehicleMix);
+        this.seed = builder.seed;
+    }
+
+    public int getGates() {
+        return gates;
+    }
+
+    public int getFloors() {
+        return floors;
+    }
+
+    public int getSpotsPerFloor() {
+        return spotsPerFloor;
+    }
+
+    public int getVehicles() {
+        return vehicles;
+    }
+
+    public double getArrivalsPerSecond() {
+        return arrivalsPerSecond;
+    }
+
+    public double getMeanStayMillis() {
+        return meanStayMillis;
+    }
+
+    public Map<VehicleType, Double> getVehicleMix() {
+        return vehicleMix;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public static class Builder {
+        private int gates = 4;
+        private int floors = 4;
+        private int spotsPerFloor = 5_000;
+        private int vehicles = 100_000;
+        private double arrivalsPerSecond = 20_000;
+        private double meanStayMillis = 500;
+        private final Map<VehicleType, Double> vehicleMix = new EnumMap<>(Map.of(
+                VehicleType.MINI, 0.5, VehicleType.COMPACT, 0.35, VehicleType.LARGE, 0.15));
+        private long seed = 42;
+
+        public Builder gates(int gates) {
+            this.gates = gates;
+            return this;
+        }
+
+        public Builder floors(int floors) {
+            this.floors = floors;
+            return this;
+        }
+
+        public Builder spotsPerFloor(int spotsPerFloor) {
+            this.spotsPerFloor = spotsPerFloor;
+            return this;
+        }
+
+        public Builder vehicles(int vehicles) {
+            this.vehicles = vehicles;
+            return this;
+        }
+
+        // Total Poisson arrival rate across all gates
+        public Builder arrivalsPerSecond(double arrivalsPerSecond) {
+            this.arrivalsPerSecond = arrivalsPerSecond;
+            return this;
+        }
+
+        // Mean of the exponentially distributed stay; simulated time is compressed to milliseconds
+        public Builder meanStayMillis(double meanStayMillis) {
+            this.meanStayMillis = meanStayMillis;
+            return this;
+        }
+
+        // Relative weights; used both for arrivals and for the spot mix of the generated layout
+        public Builder vehicleMix(VehicleType vehicleType, double weight) {
+            this.vehicleMix.put(vehicleType, weight);
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public SimulationConfig build() {
+            if (gates <= 0 || floors <= 0 || spotsPerFloor <= 0 || vehicles <= 0 || arrivalsPerSecond <= 0) {
+                throw new IllegalArgumentException("Simulation sizes and rates must be positive");
+            }
+            return new SimulationConfig(this);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.simulation;
+
+import java.util.Arrays;
+
+public class SimulationReport {
+    private final String strategyName;
+    private final long admitted;
+    private final long lotFull;
+    private final long failedClaimRetries;
+    private final long elapsedNanos;
+    private final long[] sortedLatencyNanos;
+
+    SimulationReport(String strategyName, long admitted, long lotFull, long failedClaimRetries, long elapsedNanos, long[] latencyNanos) {
+        this.strategyName = strategyName;
+        this.admitted = admitted;
+        this.lotFull = lotFull;
+        this.failedClaimRetries = failedClaimRetries;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedLatencyNanos = latencyNanos.clone();
+        Arrays.sort(this.sortedLatencyNanos);
+    }
+
+    public long getAdmitted() {
+        return admitted;
+    }
+
+    public long getLotFull() {
+        return lotFull;
+    }
+
+    // Spots that were found free but lost to another gate before tryOccupy
+    public long getFailedClaimRetries() {
+        return failedClaimRetries;
+    }
+
+    public double getThroughputPerSecond() {
+        return admitted / (elapsedNanos / 1e9);
+    }
+
+    // Allocation latency at the given percentile (0-100), in microseconds
+    public double percentileMicros(double percentile) {
+        if (sortedLatencyNanos.length == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencyNanos.length) - 1;
+        return sortedLatencyNanos[Math.max(0, Math.min(index, sortedLatencyNanos.length - 1))] / 1_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-32s admitted=%d full=%d retries=%d throughput=%.0f/s p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                strategyName, admitted, lotFull, failedClaimRetries, getThroughputPerSecond(),
+                percentileMicros(50), percentileMicros(99), percentileMicros(99.9), percentileMicros(100));
+    }
+}
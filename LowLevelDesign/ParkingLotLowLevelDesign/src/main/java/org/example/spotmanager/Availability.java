@@ -0,0 +1,45 @@
+package org.example.spotmanager;
+
+import org.example.domain.model.enums.VehicleType;
+
+import java.util.Map;
+import java.util.Set;
+
+// Point-in-time free spot counts per floor and spot type
+public class Availability {
+    private final Map<Integer, long[]> freeByFloor;
+
+    Availability(Map<Integer, long[]> freeByFloor) {
+        this.freeByFloor = Map.copyOf(freeByFloor);
+    }
+
+    public Set<Integer> getFloorNumbers() {
+        return freeByFloor.keySet();
+    }
+
+    public long getFreeSpots(int floorNumber, VehicleType spotType) {
+        long[] free = freeByFloor.get(floorNumber);
+        return free == null ? 0 : free[spotType.ordinal()];
+    }
+
+    public long getFreeSpots(VehicleType spotType) {
+        long total = 0;
+        for (long[] free : freeByFloor.values()) {
+            total += free[spotType.ordinal()];
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Integer, long[]> entry : freeByFloor.entrySet()) {
+            sb.append("Floor ").append(entry.getKey()).append(':');
+            for (VehicleType type : VehicleType.values()) {
+                sb.append(' ').append(type).append('=').append(entry.getValue()[type.ordinal()]);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.spotmanager;
+
+import org.example.domain.model.enums.VehicleType;
+
+// Push notifications for display boards; called on the gate thread that changed the spot, under that
+// spot's monitor, so keep it cheap
+public interface AvailabilityListener {
+    void onAvailabilityChanged(int floorNumber, VehicleType spotType, long freeSpots);
+}
@@ -0,0 +1,158 @@
+package org.example.spotmanager;
+
+import org.example.domain.model.enums.VehicleType;
+import org.example.parkingspot.ParkingSpot;
+import org.example.parkingspot.SpotStateListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Capacity and occupancy per floor x spot type, kept in striped LongAdders and updated by the
+ * spots themselves on occupy/vacate, so availability reads never walk the spot lists. Transitions
+ * are fanned out to SpotStateListeners on the same call, still under the spot's monitor.
+ */
+public class OccupancyCounters implements SpotStateListener, OccupancySource {
+    private static final int TYPES = VehicleType.values().length;
+
+    private final Map<Integer, FloorCounters> floors = new ConcurrentHashMap<>();
+    private final FloorCounters lot = new FloorCounters();
+    private final List<AvailabilityListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<SpotStateListener> spotStateListeners = new CopyOnWriteArrayList<>();
+
+    private static class FloorCounters {
+        final LongAdder[] capacity = newAdders();
+        final LongAdder[] occupied = newAdders();
+
+        long free(int type) {
+            return capacity[type].sum() - occupied[type].sum();
+        }
+
+        private static LongAdder[] newAdders() {
+            LongAdder[] adders = new LongAdder[TYPES];
+            for (int i = 0; i < TYPES; i++) adders[i] = new LongAdder();
+            return adders;
+        }
+    }
+
+    private FloorCounters floor(int floorNumber) {
+        return floors.computeIfAbsent(floorNumber, n -> new FloorCounters());
+    }
+
+    // Attaching and reading the occupancy happen under the spot's monitor, where spots publish their
+    // transitions, so no occupy/vacate falls between the two and goes uncounted (or counted twice)
+    public void spotAdded(ParkingSpot spot) {
+        int type = spot.getSpotType().ordinal();
+        FloorCounters floor = floor(spot.getFloorNumber());
+        synchronized (spot) {
+            spot.setStateListener(this);
+            floor.capacity[type].increment();
+            lot.capacity[type].increment();
+            if (!spot.isEmpty()) {
+                floor.occupied[type].increment();
+                lot.occupied[type].increment();
+            }
+        }
+        publish(spot.getFloorNumber(), spot.getSpotType(), floor);
+    }
+
+    public void spotRemoved(ParkingSpot spot) {
+        int type = spot.getSpotType().ordinal();
+        FloorCounters floor = floor(spot.getFloorNumber());
+        synchronized (spot) {
+            spot.setStateListener(null);
+            floor.capacity[type].decrement();
+            lot.capacity[type].decrement();
+            if (!spot.isEmpty()) {
+                floor.occupied[type].decrement();
+                lot.occupied[type].decrement();
+            }
+        }
+        publish(spot.getFloorNumber(), spot.getSpotType(), floor);
+    }
+
+    @Override
+    public void onOccupied(ParkingSpot spot) {
+        int type = spot.getSpotType().ordinal();
+        FloorCounters floor = floor(spot.getFloorNumber());
+        floor.occupied[type].increment();
+        lot.occupied[type].increment();
+        publish(spot.getFloorNumber(), spot.getSpotType(), floor);
+        for (SpotStateListener listener : spotStateListeners) {
+            listener.onOccupied(spot);
+        }
+    }
+
+    @Override
+    public void onVacated(ParkingSpot spot) {
+        int type = spot.getSpotType().ordinal();
+        FloorCounters floor = floor(spot.getFloorNumber());
+        floor.occupied[type].decrement();
+        lot.occupied[type].decrement();
+        publish(spot.getFloorNumber(), spot.getSpotType(), floor);
+        for (SpotStateListener listener : spotStateListeners) {
+            listener.onVacated(spot);
+        }
+    }
+
+    private void publish(int floorNumber, VehicleType spotType, FloorCounters floor) {
+        if (listeners.isEmpty()) return;
+        long free = floor.free(spotType.ordinal());
+        for (AvailabilityListener listener : listeners) {
+            listener.onAvailabilityChanged(floorNumber, spotType, free);
+        }
+    }
+
+    public void addListener(AvailabilityListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(AvailabilityListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Spots hold a single listener (these counters), which fans transitions out to the rest
+    public void addSpotStateListener(SpotStateListener listener) {
+        spotStateListeners.add(listener);
+    }
+
+    public void removeSpotStateListener(SpotStateListener listener) {
+        spotStateListeners.remove(listener);
+    }
+
+    public long freeSpots(int floorNumber, VehicleType spotType) {
+        FloorCounters floor = floors.get(floorNumber);
+        return floor == null ? 0 : floor.free(spotType.ordinal());
+    }
+
+    public long freeSpots(VehicleType spotType) {
+        return lot.free(spotType.ordinal());
+    }
+
+    public long capacity(VehicleType spotType) {
+        return lot.capacity[spotType.ordinal()].sum();
+    }
+
+    // 0.0 when the lot has no spots of the type, so a type without capacity never triggers a surge
+    @Override
+    public double occupancyRatio(VehicleType vehicleType) {
+        long capacity = lot.capacity[vehicleType.ordinal()].sum();
+        return capacity == 0 ? 0.0 : (double) lot.occupied[vehicleType.ordinal()].sum() / capacity;
+    }
+
+    public Availability availability() {
+        Map<Integer, long[]> free = new HashMap<>();
+        for (Map.Entry<Integer, FloorCounters> entry : floors.entrySet()) {
+            long[] perType = new long[TYPES];
+            for (int type = 0; type < TYPES; type++) {
+                perType[type] = entry.getValue().free(type);
+            }
+            free.put(entry.getKey(), perType);
+        }
+        return new Availability(free);
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.spotmanager;
+
+import org.example.domain.model.enums.VehicleType;
+
+public interface OccupancySource {
+    // Fraction of spots for the vehicle type currently occupied, between 0.0 and 1.0
+    double occupancyRatio(VehicleType vehicleType);
+}
@@ -2,19 +2,42 @@ package org.example.spotmanager;
 
 import org.example.floor.Floor;
 import org.example.strategy.parking.ParkingStrategy;
-import org.example.parkingspot.compatibility.DefaultSpotCompatibilityChecker;
+import org.example.parkingspot.compatibility.BitmaskSpotCompatibilityChecker;
 import org.example.parkingspot.compatibility.SpotCompatibilityChecker;
 import org.example.domain.model.enums.VehicleType;
 import org.example.parkingspot.ParkingSpot;
+import org.example.parkingspot.SpotStateListener;
+import org.example.service.TicketRegistry;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class ParkingSpotManager {
+public class ParkingSpotManager implements OccupancySource {
     private final Map<Integer, Floor> floorMap = new ConcurrentHashMap<Integer, Floor>();
     private ParkingStrategy parkingStrategy;
-    private SpotCompatibilityChecker compatibilityChecker = new DefaultSpotCompatibilityChecker();
+    private SpotCompatibilityChecker compatibilityChecker = new BitmaskSpotCompatibilityChecker();
+    private final OccupancyCounters occupancyCounters = new OccupancyCounters();
+    private final TicketRegistry ticketRegistry = new TicketRegistry();
+
+    public ParkingSpotManager() {
+        // Keep each floor's occupancy bits in step with its spots
+        occupancyCounters.addSpotStateListener(new SpotStateListener() {
+            @Override
+            public void onOccupied(ParkingSpot spot) {
+                Floor floor = floorMap.get(spot.getFloorNumber());
+                if (floor != null) floor.onSpotStateChanged(spot, true);
+            }
+
+            @Override
+            public void onVacated(ParkingSpot spot) {
+                Floor floor = floorMap.get(spot.getFloorNumber());
+                if (floor != null) floor.onSpotStateChanged(spot, false);
+            }
+        });
+    }
 
 
     public void setParkingStrategy(ParkingStrategy parkingStrategy) {
@@ -27,6 +50,9 @@ public class ParkingSpotManager {
             throw new IllegalArgumentException("Floor " + floor.getFloorNumber() + " already exists.");
         }
         floorMap.put(floor.getFloorNumber(), floor);
+        for (ParkingSpot spot : floor.getParkingSpotList()) {
+            occupancyCounters.spotAdded(spot);
+        }
     };
 
     public Floor getFloor(int floorNumber) {
@@ -38,17 +64,31 @@ public class ParkingSpotManager {
             throw new IllegalStateException("Parking strategy not set");
         }
         for (Floor floor : floorMap.values()) {
-            ParkingSpot spot = parkingStrategy.findParkingSpot(floor.getParkingSpotList(), vehicleType, compatibilityChecker);
+            ParkingSpot spot = parkingStrategy.findParkingSpot(floor, vehicleType, compatibilityChecker);
             if (spot != null) return spot;
         }
         return null;
     }
 
+    public List<ParkingSpot> findParkingSpots(VehicleType vehicleType, int limit) {
+        if (parkingStrategy == null) {
+            throw new IllegalStateException("Parking strategy not set");
+        }
+        List<ParkingSpot> spots = new ArrayList<>(limit);
+        for (Floor floor : floorMap.values()) {
+            if (spots.size() >= limit) break;
+            spots.addAll(parkingStrategy.findParkingSpots(floor.getParkingSpotList(), vehicleType, compatibilityChecker, limit - spots.size()));
+        }
+        return spots;
+    }
+
+    // One layout copy per call; use addSpotsToFloor to build a floor
     public void addSpotToFloor(int floorNum, ParkingSpot spot) {
         Floor floor = floorMap.get(floorNum);
         if(floor != null){
         
             floor.addSpot(spot);
+            occupancyCounters.spotAdded(spot);
             System.out.println("Spot added: " + spot.getSpotId());
         }else{
             throw new IllegalArgumentException("No Such Floor Available "+ floorNum);
@@ -56,7 +96,78 @@ public class ParkingSpotManager {
 
     }
 
+    public void addSpotsToFloor(int floorNum, List<ParkingSpot> spots) {
+        Floor floor = requireFloor(floorNum);
+        floor.addSpots(spots);
+        for (ParkingSpot spot : spots) {
+            occupancyCounters.spotAdded(spot);
+        }
+    }
+
+    public ParkingSpot removeSpotFromFloor(int floorNum, String spotId) {
+        List<ParkingSpot> removed = removeSpotsFromFloor(floorNum, List.of(spotId));
+        return removed.isEmpty() ? null : removed.get(0);
+    }
+
+    // Closes a section live; parked vehicles keep their spot object until they exit
+    public List<ParkingSpot> removeSpotsFromFloor(int floorNum, Collection<String> spotIds) {
+        List<ParkingSpot> removed = requireFloor(floorNum).removeSpots(spotIds);
+        for (ParkingSpot spot : removed) {
+            occupancyCounters.spotRemoved(spot);
+        }
+        return removed;
+    }
+
+    // Converts a spot in place (e.g. to an EV bay) keeping its index on the floor
+    public ParkingSpot replaceSpotOnFloor(int floorNum, String spotId, ParkingSpot replacement) {
+        ParkingSpot previous = requireFloor(floorNum).replaceSpot(spotId, replacement);
+        occupancyCounters.spotRemoved(previous);
+        occupancyCounters.spotAdded(replacement);
+        return previous;
+    }
+
+    private Floor requireFloor(int floorNum) {
+        Floor floor = floorMap.get(floorNum);
+        if (floor == null) {
+            throw new IllegalArgumentException("No Such Floor Available " + floorNum);
+        }
+        return floor;
+    }
+
     public Collection<Floor> getAllFloors() {
         return floorMap.values();
     }
+
+    public TicketRegistry getTicketRegistry() {
+        return ticketRegistry;
+    }
+
+    public Availability availability() {
+        return occupancyCounters.availability();
+    }
+
+    public long freeSpots(VehicleType spotType) {
+        return occupancyCounters.freeSpots(spotType);
+    }
+
+    public void addAvailabilityListener(AvailabilityListener listener) {
+        occupancyCounters.addListener(listener);
+    }
+
+    public void removeAvailabilityListener(AvailabilityListener listener) {
+        occupancyCounters.removeListener(listener);
+    }
+
+    public void addSpotStateListener(SpotStateListener listener) {
+        occupancyCounters.addSpotStateListener(listener);
+    }
+
+    public void removeSpotStateListener(SpotStateListener listener) {
+        occupancyCounters.removeSpotStateListener(listener);
+    }
+
+    @Override
+    public double occupancyRatio(VehicleType vehicleType) {
+        return occupancyCounters.occupancyRatio(vehicleType);
+    }
 }
@@ -0,0 +1,139 @@
+package org.example.strategy.cost.pricing;
+
+import org.example.domain.model.Ticket;
+import org.example.domain.model.enums.VehicleType;
+import org.example.spotmanager.OccupancySource;
+import org.example.strategy.cost.CostComputation;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Integrates the hourly rate over the stay using a per-minute-of-week prefix sum, so any interval
+ * costs O(1) to price. Daily caps apply per 24h block from entry; capped block charges are
+ * precomputed for every start minute of the week, so week-long stays cost a handful of lookups.
+ * Charges are kept in rate-minutes (hourly rate x minutes) and converted to currency at the end.
+ */
+public class DynamicPricingEngine implements CostComputation {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int MINUTES_PER_WEEK = DAYS_PER_WEEK * MINUTES_PER_DAY;
+
+    // prefix[type][m] = charge from Monday 00:00 up to minute m of the week
+    private final long[][] prefix = new long[VehicleType.values().length][];
+    // dayCharge[type][m] = capped charge of the 24h block starting at minute m of the week
+    private final long[][] dayCharge = new long[VehicleType.values().length][];
+    // weekCharge[type][m] = sum of the 7 capped day blocks starting at minute-of-day m
+    private final long[][] weekCharge = new long[VehicleType.values().length][];
+    private final long[] capRateMinutes = new long[VehicleType.values().length];
+    private final List<PricingSchedule.SurgeTier> surgeTiers;
+    private final OccupancySource occupancySource;
+
+    public DynamicPricingEngine(PricingSchedule schedule) {
+        this(schedule, null);
+    }
+
+    public DynamicPricingEngine(PricingSchedule schedule, OccupancySource occupancySource) {
+        this.occupancySource = occupancySource;
+        this.surgeTiers = schedule.getSurgeTiers().stream()
+                .sorted(Comparator.comparingDouble(PricingSchedule.SurgeTier::minOccupancy).reversed())
+                .toList();
+        for (VehicleType type : VehicleType.values()) {
+            compile(schedule, type);
+        }
+    }
+
+    private void compile(PricingSchedule schedule, VehicleType type) {
+        int t = type.ordinal();
+        int[] rates = new int[MINUTES_PER_WEEK];
+        Arrays.fill(rates, schedule.getBaseHourlyRate(type));
+        for (PricingSchedule.Window window : schedule.getWindows()) {
+            if (window.vehicleType() != type) continue;
+            int from = window.from().toSecondOfDay() / 60;
+            int to = window.to().toSecondOfDay() / 60;
+            int length = to > from ? to - from : MINUTES_PER_DAY - from + to;
+            for (DayOfWeek day : window.days()) {
+                int start = (day.getValue() - 1) * MINUTES_PER_DAY + from;
+                for (int i = 0; i < length; i++) {
+                    rates[(start + i) % MINUTES_PER_WEEK] = window.hourlyRate();
+                }
+            }
+        }
+
+        long[] sums = new long[MINUTES_PER_WEEK + 1];
+        for (int m = 0; m < MINUTES_PER_WEEK; m++) {
+            sums[m + 1] = sums[m] + rates[m];
+        }
+        prefix[t] = sums;
+
+        int cap = schedule.getDailyCap(type);
+        capRateMinutes[t] = cap > 0 ? cap * 60L : Long.MAX_VALUE;
+
+        long[] days = new long[MINUTES_PER_WEEK];
+        for (int m = 0; m < MINUTES_PER_WEEK; m++) {
+            days[m] = Math.min(capRateMinutes[t], rangeCharge(sums, m, MINUTES_PER_DAY));
+        }
+        dayCharge[t] = days;
+
+        long[] weeks = new long[MINUTES_PER_DAY];
+        for (int m = 0; m < MINUTES_PER_DAY; m++) {
+            for (int d = 0; d < DAYS_PER_WEEK; d++) {
+                weeks[m] += days[m + d * MINUTES_PER_DAY];
+            }
+        }
+        weekCharge[t] = weeks;
+    }
+
+    // Uncapped charge of `length` minutes starting at minute-of-week `start`
+    private static long rangeCharge(long[] sums, int start, long length) {
+        long total = (length / MINUTES_PER_WEEK) * sums[MINUTES_PER_WEEK];
+        int end = start + (int) (length % MINUTES_PER_WEEK);
+        if (end <= MINUTES_PER_WEEK) {
+            return total + sums[end] - sums[start];
+        }
+        return total + sums[MINUTES_PER_WEEK] - sums[start] + sums[end - MINUTES_PER_WEEK];
+    }
+
+    private static int minuteOfWeek(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+
+    public int price(VehicleType vehicleType, LocalDateTime entryTime, LocalDateTime exitTime) {
+        long minutes = ChronoUnit.MINUTES.between(entryTime, exitTime);
+        if (minutes < 0) {
+            throw new IllegalArgumentException("Exit time is before entry time");
+        }
+        int t = vehicleType.ordinal();
+        int start = minuteOfWeek(entryTime);
+
+        long fullDays = minutes / MINUTES_PER_DAY;
+        long total = (fullDays / DAYS_PER_WEEK) * weekCharge[t][start % MINUTES_PER_DAY];
+        // Whole weeks shift the start by a multiple of the week, so leftover days start from `start` again
+        for (int d = 0; d < fullDays % DAYS_PER_WEEK; d++) {
+            total += dayCharge[t][(start + d * MINUTES_PER_DAY) % MINUTES_PER_WEEK];
+        }
+        int partialStart = (int) ((start + fullDays * MINUTES_PER_DAY) % MINUTES_PER_WEEK);
+        total += Math.min(capRateMinutes[t], rangeCharge(prefix[t], partialStart, minutes % MINUTES_PER_DAY));
+
+        long amount = (total + 59) / 60;
+        return Math.toIntExact(Math.round(amount * surgeMultiplier(vehicleType)));
+    }
+
+    private double surgeMultiplier(VehicleType vehicleType) {
+        if (occupancySource == null) return 1.0;
+        double occupancy = occupancySource.occupancyRatio(vehicleType);
+        for (PricingSchedule.SurgeTier tier : surgeTiers) {
+            if (occupancy >= tier.minOccupancy()) return tier.multiplier();
+        }
+        return 1.0;
+    }
+
+    @Override
+    public int calculateCostForTicket(VehicleType vehicleType, Ticket ticket, LocalDateTime exitTime) {
+        return price(vehicleType, ticket.getTime(), exitTime);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.strategy.cost.pricing;
+
+import org.example.domain.model.enums.VehicleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Hourly rates per vehicle type over the week. Later windows override earlier ones where they overlap.
+public class PricingSchedule {
+    private final Map<VehicleType, Integer> baseHourlyRates;
+    private final Map<VehicleType, Integer> dailyCaps;
+    private final List<Window> windows;
+    private final List<SurgeTier> surgeTiers;
+
+    private PricingSchedule(Builder builder) {
+        this.baseHourlyRates = Map.copyOf(builder.baseHourlyRates);
+        this.dailyCaps = Map.copyOf(builder.dailyCaps);
+        this.windows = List.copyOf(builder.windows);
+        this.surgeTiers = List.copyOf(builder.surgeTiers);
+    }
+
+    public int getBaseHourlyRate(VehicleType vehicleType) {
+        return baseHourlyRates.get(vehicleType);
+    }
+
+    // 0 means no cap
+    public int getDailyCap(VehicleType vehicleType) {
+        return dailyCaps.getOrDefault(vehicleType, 0);
+    }
+
+    public List<Window> getWindows() {
+        return windows;
+    }
+
+    public List<SurgeTier> getSurgeTiers() {
+        return surgeTiers;
+    }
+
+    public record Window(Set<DayOfWeek> days, LocalTime from, LocalTime to, VehicleType vehicleType, int hourlyRate) {
+    }
+
+    public record SurgeTier(double minOccupancy, double multiplier) {
+    }
+
+    public static class Builder {
+        private final Map<VehicleType, Integer> baseHourlyRates = new EnumMap<>(VehicleType.class);
+        private final Map<VehicleType, Integer> dailyCaps = new EnumMap<>(VehicleType.class);
+        private final List<Window> windows = new ArrayList<>();
+        private final List<SurgeTier> surgeTiers = new ArrayList<>();
+
+        public Builder baseHourlyRate(VehicleType vehicleType, int hourlyRate) {
+            baseHourlyRates.put(vehicleType, hourlyRate);
+            return this;
+        }
+
+        public Builder dailyCap(VehicleType vehicleType, int dailyCap) {
+            dailyCaps.put(vehicleType, dailyCap);
+            return this;
+        }
+
+        // [from, to) on each of the given days; a window with to <= from runs past midnight
+        public Builder window(Set<DayOfWeek> days, LocalTime from, LocalTime to, VehicleType vehicleType, int hourlyRate) {
+            windows.add(new Window(EnumSet.copyOf(days), from, to, vehicleType, hourlyRate));
+            return this;
+        }
+
+        public Builder surge(double minOccupancy, double multiplier) {
+            surgeTiers.add(new SurgeTier(minOccupancy, multiplier));
+            return this;
+        }
+
+        public PricingSchedule build() {
+            for (VehicleType type : VehicleType.values()) {
+                if (!baseHourlyRates.containsKey(type)) {
+                    throw new IllegalArgumentException("No base rate defined for " + type);
+                }
+            }
+            return new PricingSchedule(this);
+        }
+    }
+}
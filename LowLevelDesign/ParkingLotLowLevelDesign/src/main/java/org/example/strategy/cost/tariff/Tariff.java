@@ -0,0 +1,69 @@
+package org.example.strategy.cost.tariff;
+
+import org.example.domain.model.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Piecewise tariff definition for one vehicle type. Each tier prices a stay of up to `upToMinutes`
+// as (elapsedMinutes / unitMinutes) * ratePerUnit; the dailyCap (0 = none) bounds any single day.
+public class Tariff {
+    private final VehicleType vehicleType;
+    private final List<Tier> tiers;
+    private final int dailyCap;
+
+    private Tariff(Builder builder) {
+        this.vehicleType = builder.vehicleType;
+        this.tiers = List.copyOf(builder.tiers);
+        this.dailyCap = builder.dailyCap;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType;
+    }
+
+    public List<Tier> getTiers() {
+        return tiers;
+    }
+
+    public int getDailyCap() {
+        return dailyCap;
+    }
+
+    public record Tier(int upToMinutes, int unitMinutes, int ratePerUnit) {
+    }
+
+    public static class Builder {
+        private VehicleType vehicleType;
+        private final List<Tier> tiers = new ArrayList<>();
+        private int dailyCap;
+
+        public Builder vehicleType(VehicleType vehicleType) {
+            this.vehicleType = vehicleType;
+            return this;
+        }
+
+        public Builder tier(int upToMinutes, int unitMinutes, int ratePerUnit) {
+            if (unitMinutes <= 0 || ratePerUnit < 0) {
+                throw new IllegalArgumentException("Invalid tier " + upToMinutes + ":" + unitMinutes + ":" + ratePerUnit);
+            }
+            if (!tiers.isEmpty() && upToMinutes <= tiers.get(tiers.size() - 1).upToMinutes()) {
+                throw new IllegalArgumentException("Tiers must be in ascending order of minutes");
+            }
+            tiers.add(new Tier(upToMinutes, unitMinutes, ratePerUnit));
+            return this;
+        }
+
+        public Builder dailyCap(int dailyCap) {
+            this.dailyCap = dailyCap;
+            return this;
+        }
+
+        public Tariff build() {
+            if (vehicleType == null || tiers.isEmpty()) {
+                throw new IllegalArgumentException("Tariff needs a vehicle type and at least one tier");
+            }
+            return new Tariff(this);
+        }
+    }
+}
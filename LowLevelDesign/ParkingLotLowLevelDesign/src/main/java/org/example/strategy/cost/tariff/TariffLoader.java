@@ -0,0 +1,60 @@
+package org.example.strategy.cost.tariff;
+
+import org.example.domain.model.enums.VehicleType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Reads tariff definitions at startup, one entry pair per vehicle type:
+ * <pre>
+ * tariff.MINI.tiers=60:1:2;1440:60:50      (upToMinutes:unitMinutes:ratePerUnit)
+ * tariff.MINI.dailyCap=800
+ * </pre>
+ */
+public class TariffLoader {
+    public static final String DEFAULT_RESOURCE = "/tariffs.properties";
+
+    public static TariffTable loadDefault() {
+        try (InputStream in = TariffLoader.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Tariff resource not found: " + DEFAULT_RESOURCE);
+            }
+            return load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static TariffTable load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        return load(properties);
+    }
+
+    public static TariffTable load(Properties properties) {
+        List<Tariff> tariffs = new ArrayList<>();
+        for (VehicleType type : VehicleType.values()) {
+            String tiers = properties.getProperty("tariff." + type + ".tiers");
+            if (tiers == null) {
+                throw new IllegalArgumentException("Missing tariff.%s.tiers".formatted(type));
+            }
+            Tariff.Builder builder = new Tariff.Builder()
+                    .vehicleType(type)
+                    .dailyCap(Integer.parseInt(properties.getProperty("tariff." + type + ".dailyCap", "0").trim()));
+            for (String tier : tiers.split(";")) {
+                String[] parts = tier.trim().split(":");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Invalid tier '" + tier + "' for " + type);
+                }
+                builder.tier(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            }
+            tariffs.add(builder.build());
+        }
+        return new TariffTable(tariffs);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.strategy.cost.tariff;
+
+import org.example.domain.model.enums.VehicleType;
+
+import java.util.Collection;
+
+// Tariffs compiled into one price-per-minute array per vehicle type, covering a single day.
+// Longer stays are charged whole days at the day price plus the remainder, so lookup is O(1).
+public class TariffTable {
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int[][] dayPrices = new int[VehicleType.values().length][];
+
+    public TariffTable(Collection<Tariff> tariffs) {
+        for (Tariff tariff : tariffs) {
+            dayPrices[tariff.getVehicleType().ordinal()] = compile(tariff);
+        }
+        for (VehicleType type : VehicleType.values()) {
+            if (dayPrices[type.ordinal()] == null) {
+                throw new IllegalArgumentException("No tariff defined for " + type);
+            }
+        }
+    }
+
+    private static int[] compile(Tariff tariff) {
+        int[] prices = new int[MINUTES_PER_DAY + 1];
+        int cap = tariff.getDailyCap() > 0 ? tariff.getDailyCap() : Integer.MAX_VALUE;
+        int tierIndex = 0;
+        for (int minute = 0; minute <= MINUTES_PER_DAY; minute++) {
+            // The last tier keeps applying if the definition stops short of a full day
+            while (tierIndex < tariff.getTiers().size() - 1 && minute > tariff.getTiers().get(tierIndex).upToMinutes()) {
+                tierIndex++;
+            }
+            Tariff.Tier tier = tariff.getTiers().get(tierIndex);
+            long price = (long) (minute / tier.unitMinutes()) * tier.ratePerUnit();
+            prices[minute] = (int) Math.min(price, cap);
+        }
+        return prices;
+    }
+
+    public int price(VehicleType vehicleType, long minutes) {
+        if (minutes < 0) {
+            throw new IllegalArgumentException("Exit time is before entry time");
+        }
+        int[] prices = dayPrices[vehicleType.ordinal()];
+        long fullDays = minutes / MINUTES_PER_DAY;
+        int remainder = (int) (minutes % MINUTES_PER_DAY);
+        return Math.toIntExact(fullDays * prices[MINUTES_PER_DAY] + prices[remainder]);
+    }
+}
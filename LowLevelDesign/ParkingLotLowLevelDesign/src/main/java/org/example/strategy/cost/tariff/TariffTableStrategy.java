@@ -0,0 +1,21 @@
+package org.example.strategy.cost.tariff;
+
+import org.example.domain.model.Ticket;
+import org.example.domain.model.enums.VehicleType;
+import org.example.strategy.cost.CostComputation;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public class TariffTableStrategy implements CostComputation {
+    private final TariffTable tariffTable;
+
+    public TariffTableStrategy(TariffTable tariffTable) {
+        this.tariffTable = tariffTable;
+    }
+
+    @Override
+    public int calculateCostForTicket(VehicleType vehicleType, Ticket ticket, LocalDateTime exitTime) {
+        return tariffTable.price(vehicleType, ChronoUnit.MINUTES.between(ticket.getTime(), exitTime));
+    }
+}
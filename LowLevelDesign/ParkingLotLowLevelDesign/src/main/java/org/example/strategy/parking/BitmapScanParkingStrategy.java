@@ -0,0 +1,28 @@
+package org.example.strategy.parking;
+
+import org.example.domain.model.enums.VehicleType;
+import org.example.floor.Floor;
+import org.example.parkingspot.ParkingSpot;
+import org.example.parkingspot.compatibility.BitmaskSpotCompatibilityChecker;
+import org.example.parkingspot.compatibility.SpotCompatibilityChecker;
+
+import java.util.List;
+
+// Nearest-to-entrance search over the floor's type/occupancy bitsets and distance array. The bitsets
+// need the checker's rules as a mask, so checkers other than BitmaskSpotCompatibilityChecker get the list scan.
+public class BitmapScanParkingStrategy implements ParkingStrategy {
+    private final ParkingStrategy listFallback = new NearToEntranceParkingStrategy();
+
+    @Override
+    public ParkingSpot findParkingSpot(Floor floor, VehicleType vehicleType, SpotCompatibilityChecker spotCompatibilityChecker) {
+        if (spotCompatibilityChecker instanceof BitmaskSpotCompatibilityChecker bitmaskChecker) {
+            return floor.findNearestFreeSpot(bitmaskChecker.getMatrix().mask(vehicleType));
+        }
+        return listFallback.findParkingSpot(floor.getParkingSpotList(), vehicleType, spotCompatibilityChecker);
+    }
+
+    @Override
+    public ParkingSpot findParkingSpot(List<ParkingSpot> parkingSpotList, VehicleType vehicleType, SpotCompatibilityChecker spotCompatibilityChecker) {
+        return listFallback.findParkingSpot(parkingSpotList, vehicleType, spotCompatibilityChecker);
+    }
+}
@@ -19,5 +19,16 @@ public class NearToEntranceParkingStrategy implements ParkingStrategy {
                 .orElse(null);
     }
 
+    @Override
+    public List<ParkingSpot> findParkingSpots(List<ParkingSpot> spots, VehicleType vehicleType, SpotCompatibilityChecker spotCompatibilityChecker, int limit) {
+        if (spots == null || spots.isEmpty() || limit <= 0) return List.of();
+
+        return spots.stream()
+                .filter(spot -> spot.isEmpty() && spotCompatibilityChecker.isCompatible(spot, vehicleType))
+                .sorted(Comparator.comparingInt(ParkingSpot::getDistanceFromEntrance))
+                .limit(limit)
+                .toList();
+    }
+
 
 };
@@ -1,11 +1,28 @@
 package org.example.strategy.parking;
 
+import org.example.floor.Floor;
 import org.example.parkingspot.compatibility.SpotCompatibilityChecker;
 import org.example.domain.model.enums.VehicleType;
 import org.example.parkingspot.ParkingSpot;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface ParkingStrategy {
     ParkingSpot findParkingSpot(List<ParkingSpot> parkingSpotList, VehicleType type, SpotCompatibilityChecker spotCompatibilityChecker);
+
+    // Floor-level entry point used by ParkingSpotManager; strategies that scan the floor's arrays override it
+    default ParkingSpot findParkingSpot(Floor floor, VehicleType type, SpotCompatibilityChecker spotCompatibilityChecker) {
+        return findParkingSpot(floor.getParkingSpotList(), type, spotCompatibilityChecker);
+    }
+
+    // Batch variant used by the admission pipeline: one pass over the list for many vehicles of the same type.
+    default List<ParkingSpot> findParkingSpots(List<ParkingSpot> parkingSpotList, VehicleType type, SpotCompatibilityChecker spotCompatibilityChecker, int limit) {
+        List<ParkingSpot> result = new ArrayList<>(limit);
+        for (ParkingSpot spot : parkingSpotList) {
+            if (result.size() == limit) break;
+            if (spot.isEmpty() && spotCompatibilityChecker.isCompatible(spot, type)) result.add(spot);
+        }
+        return result;
+    }
 }
@@ -1,14 +1,18 @@
 package org.example;
 
+import org.example.admission.WaitingRoomService;
 import org.example.models.Booking;
 import org.example.controller.*;
 import org.example.enums.SeatCategory;
 import org.example.payment.strategy.DebitCardStrategy;
+import org.example.pricing.DynamicSeatPricingEngine;
+import org.example.pricing.PricingPolicy;
 import org.example.seats.ISeatLockProvider;
 import org.example.seats.SeatLockProvider;
 import org.example.service.*;
 import org.example.user.User;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -22,10 +26,23 @@ public class Main {
             ShowService showService = new ShowService();
             // Create a seat lock provider with a 10-minute timeout (600 seconds)
             ISeatLockProvider seatLockProvider = new SeatLockProvider(600);
+            // Waiting rooms for high-demand shows (none are opened in this walkthrough)
+            WaitingRoomService waitingRoomService = new WaitingRoomService();
             // Initialize booking service with the seat lock provider
-            BookingService bookingService = new BookingService(seatLockProvider);
+            BookingService bookingService = new BookingService(seatLockProvider, waitingRoomService);
             // Initialize seat availability service
-            SeatAvailabilityService seatAvailabilityService = new SeatAvailabilityService(bookingService, seatLockProvider);
+            SeatAvailabilityService seatAvailabilityService = SeatAvailabilityService.start(bookingService, seatLockProvider);
+
+            // Seat prices per category, raised as a category sells out and discounted when booked early
+            PricingPolicy pricingPolicy = new PricingPolicy.Builder()
+                    .basePrice(SeatCategory.SILVER, 200)
+                    .basePrice(SeatCategory.GOLD, 300)
+                    .basePrice(SeatCategory.PLATINUM, 500)
+                    .leadTime(Duration.ofDays(7), 0.9)
+                    .demand(0.5, 1.2)
+                    .demand(0.8, 1.5)
+                    .build();
+            DynamicSeatPricingEngine pricingEngine = DynamicSeatPricingEngine.create(pricingPolicy, seatAvailabilityService);
 
             // Initialize payment service with a simple payment strategy
             PaymentService paymentService = new PaymentService(new DebitCardStrategy(), bookingService);
@@ -34,8 +51,10 @@ public class Main {
             MovieController movieController = new MovieController(movieService);
             TheatreController theatreController = new TheatreController(theatreService);
             ShowController showController = new ShowController(seatAvailabilityService, showService, theatreService, movieService);
-            BookingController bookingController = new BookingController(showService, bookingService, theatreService);
+            BookingController bookingController = new BookingController(showService, bookingService, theatreService, seatAvailabilityService);
             PaymentController paymentController = new PaymentController(paymentService);
+            WaitingRoomController waitingRoomController = new WaitingRoomController(waitingRoomService, showService);
+            PricingController pricingController = new PricingController(pricingEngine, showService);
 
             // Step 1: Create a theatre
             System.out.println("Creating a new theatre...");
@@ -59,8 +78,7 @@ public class Main {
                     category = SeatCategory.SILVER;   // Rest are silver
                 };
                 int baseCost = 0;
-                for (int seatNum = 1; seatNum <= 10; seatNum++) {
-                    int seatId = theatreController.createSeatInScreen(row, category, screenId, baseCost);
+                for (int seatId : theatreController.createSeatsInScreen(row, category, screenId, baseCost, 10)) {
                     System.out.println("Created seat at row " + row + " with ID: " + seatId + " and category: " + category);
                 }
             }
@@ -106,6 +124,15 @@ public class Main {
             availableSeats = showController.getAvailableSeats(showId);
             System.out.println("Available seats: " + availableSeats);
 
+            // Step 12: Book 4 adjacent gold seats without picking them
+            System.out.println("nBest available 4 GOLD seats: " + showController.getBestAvailableSeats(showId, 4, SeatCategory.GOLD));
+            String groupBookingId = bookingController.createBestAvailableBooking(user, showId, 4, SeatCategory.GOLD);
+            System.out.println("Group booking created with ID: " + groupBookingId + " for seats "
+                    + bookingService.getBooking(groupBookingId).getSeatsBooked().stream().map(seat -> seat.getId()).toList());
+
+            // Step 13: Seat prices now that part of the gold rows is taken
+            System.out.println("nCurrent seat prices: " + pricingController.getSeatPrices(showId));
+
             // ------------------------------
             // CONCURRENT BOOKING SIMULATION
             // ------------------------------
@@ -115,7 +142,7 @@ public class Main {
                     // User 1 (John Doe) trying to book seats 5, 6, 7
                     String bookingIdT1 = bookingController.createBooking(user, showId, Arrays.asList(5, 6, 7));
                     System.out.println("User1 booking (seats 5,6,7) succeeded with Booking ID: " + bookingIdT1);
-                } catch (`Exception e) {
+                } catch (Exception e) {
                     System.err.println("User1 booking (seats 5,6,7) failed: " + e.getMessage());
                 }
             });
@@ -135,6 +162,26 @@ public class Main {
             t2.join();
             // Final available seats after concurrent attempts
             System.out.println("nFinal available seats after concurrent booking attempts: " + showController.getAvailableSeats(showId));
+
+            // ------------------------------
+            // WAITING ROOM FOR A HIGH-DEMAND SHOW
+            // ------------------------------
+            System.out.println("nOpening a waiting room admitting 1 user per second...");
+            waitingRoomController.openWaitingRoom(showId, 1.0, 1, 60_000);
+            User fan1 = new User("Fan One", "fan1@example.com");
+            User fan2 = new User("Fan Two", "fan2@example.com");
+            long fan1Token = waitingRoomController.joinWaitingRoom(showId, fan1);
+            long fan2Token = waitingRoomController.joinWaitingRoom(showId, fan2);
+            System.out.println("Fan1 position: " + waitingRoomController.getQueuePosition(showId, fan1Token)
+                    + ", Fan2 position: " + waitingRoomController.getQueuePosition(showId, fan2Token)
+                    + " (about " + waitingRoomController.getEstimatedWaitSeconds(showId, fan2Token) + "s)");
+            System.out.println("Fan1 booking (seat 10) with token: "
+                    + bookingController.createBooking(fan1, showId, Arrays.asList(10), fan1Token));
+            try {
+                bookingController.createBooking(fan2, showId, Arrays.asList(11), fan2Token);
+            } catch (Exception e) {
+                System.out.println("Fan2 booking rejected: " + e.getMessage());
+            }
         } catch (Exception e) {
             System.err.println("Error occurred: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,48 @@
+package org.example.admission;
+
+import org.example.user.User;
+
+// A user's place in a show's waiting room. Tokens are handed out in join order; a token can be used
+// for booking once the room has admitted it and until its admission window runs out.
+public class AdmissionToken {
+    private final int showId;
+    private final long sequence; // 1-based join order, also the token's ID within the show
+    private final User user;
+    private final long joinedAtMillis;
+    private volatile long admittedAtMillis; // 0 while still waiting
+
+    AdmissionToken(final int showId, final long sequence, final User user, final long joinedAtMillis) {
+        this.showId = showId;
+        this.sequence = sequence;
+        this.user = user;
+        this.joinedAtMillis = joinedAtMillis;
+    }
+
+    void admit(final long nowMillis) {
+        this.admittedAtMillis = nowMillis;
+    }
+
+    public int getShowId() {
+        return showId;
+    }
+
+    public long getTokenId() {
+        return sequence;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public long getJoinedAtMillis() {
+        return joinedAtMillis;
+    }
+
+    public boolean isAdmitted() {
+        return admittedAtMillis != 0;
+    }
+
+    public long getAdmittedAtMillis() {
+        return admittedAtMillis;
+    }
+}
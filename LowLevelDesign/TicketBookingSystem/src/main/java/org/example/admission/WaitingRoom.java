@@ -0,0 +1,112 @@
+package org.example.admission;
+
+import org.example.user.User;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// FIFO waiting room for one show. Admission credits accrue at admitRatePerSecond up to burst;
+// each credit lets the next waiting token through. The room advances lazily on every call,
+// so it needs no thread of its own. Tokens whose admission window has passed are dropped as it advances.
+public class WaitingRoom {
+    private final int showId;
+    private final double admitRatePerSecond;
+    private final int burst;
+    private final long admissionWindowMillis;
+
+    // Written under this; read without it by getToken
+    private final Map<Integer, AdmissionToken> tokensByUser = new ConcurrentHashMap<>();
+    private final Map<Long, AdmissionToken> tokensById = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private final Queue<AdmissionToken> waiting = new ArrayDeque<>();
+    private final Queue<AdmissionToken> admitted = new ArrayDeque<>(); // in admission order, so oldest first
+    private long nextSequence = 1;
+    private double credits;
+    private long lastAdvanceMillis;
+    private volatile long admittedUpTo; // highest admitted sequence
+
+    public WaitingRoom(final int showId, final double admitRatePerSecond, final int burst, final long admissionWindowMillis) {
+        if (admitRatePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Admit rate and burst must be positive");
+        }
+        this.showId = showId;
+        this.admitRatePerSecond = admitRatePerSecond;
+        this.burst = burst;
+        this.admissionWindowMillis = admissionWindowMillis;
+        this.credits = burst;
+        this.lastAdvanceMillis = System.currentTimeMillis();
+    }
+
+    // Joins the queue, or returns the user's token if they already hold one that is still usable
+    // The sequence is assigned and queued under one lock, so the queue stays in sequence order
+    public synchronized AdmissionToken join(final User user) {
+        final long now = System.currentTimeMillis();
+        final AdmissionToken existing = tokensByUser.get(user.getUserId());
+        if (existing != null && !isExpired(existing, now)) return existing;
+        final AdmissionToken token = new AdmissionToken(showId, nextSequence++, user, now);
+        tokensByUser.put(user.getUserId(), token);
+        tokensById.put(token.getTokenId(), token);
+        waiting.add(token);
+        advance(now);
+        return token;
+    }
+
+    public AdmissionToken getToken(final long tokenId) {
+        return tokensById.get(tokenId);
+    }
+
+    private synchronized void advance(final long now) {
+        credits = Math.min(burst, credits + (now - lastAdvanceMillis) * admitRatePerSecond / 1000.0);
+        lastAdvanceMillis = now;
+        while (credits >= 1) {
+            final AdmissionToken next = waiting.poll();
+            if (next == null) break;
+            next.admit(now);
+            admitted.add(next);
+            admittedUpTo = next.getTokenId();
+            credits -= 1;
+        }
+        evictExpired(now);
+    }
+
+    private void evictExpired(final long now) {
+        AdmissionToken oldest;
+        while ((oldest = admitted.peek()) != null && isExpired(oldest, now)) {
+            admitted.poll();
+            tokensByUser.remove(oldest.getUser().getUserId(), oldest);
+            tokensById.remove(oldest.getTokenId());
+        }
+    }
+
+    private boolean isExpired(final AdmissionToken token, final long now) {
+        return token.isAdmitted() && now - token.getAdmittedAtMillis() > admissionWindowMillis;
+    }
+
+    // Tokens ahead of this one; 0 once admitted
+    public long getPosition(final AdmissionToken token) {
+        advance(System.currentTimeMillis());
+        return token.isAdmitted() ? 0 : Math.max(1, token.getTokenId() - admittedUpTo);
+    }
+
+    public long getEstimatedWaitSeconds(final AdmissionToken token) {
+        return (long) Math.ceil(getPosition(token) / admitRatePerSecond);
+    }
+
+    // True while the token is admitted and inside its admission window
+    public boolean isAdmitted(final AdmissionToken token) {
+        final long now = System.currentTimeMillis();
+        advance(now);
+        return token.isAdmitted() && !isExpired(token, now);
+    }
+
+    public synchronized int getWaitingCount() {
+        return waiting.size();
+    }
+
+    public int getShowId() {
+        return showId;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.admission;
+
+import org.example.models.Show;
+import org.example.user.User;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Waiting rooms for high-demand shows. Shows without a room are booked directly.
+public class WaitingRoomService {
+    private final Map<Integer, WaitingRoom> rooms;
+
+    public WaitingRoomService() {
+        this.rooms = new ConcurrentHashMap<>();
+    }
+
+    public WaitingRoom openWaitingRoom(final Show show, final double admitRatePerSecond, final int burst,
+                                       final long admissionWindowMillis) {
+        return rooms.computeIfAbsent(show.getId(),
+                id -> new WaitingRoom(id, admitRatePerSecond, burst, admissionWindowMillis));
+    }
+
+    public void closeWaitingRoom(final Show show) {
+        rooms.remove(show.getId());
+    }
+
+    public boolean hasWaitingRoom(final Show show) {
+        return rooms.containsKey(show.getId());
+    }
+
+    public AdmissionToken join(final Show show, final User user) throws Exception {
+        return getWaitingRoom(show.getId()).join(user);
+    }
+
+    public long getPosition(final int showId, final long tokenId) throws Exception {
+        final WaitingRoom room = getWaitingRoom(showId);
+        return room.getPosition(getToken(room, tokenId));
+    }
+
+    public long getEstimatedWaitSeconds(final int showId, final long tokenId) throws Exception {
+        final WaitingRoom room = getWaitingRoom(showId);
+        return room.getEstimatedWaitSeconds(getToken(room, tokenId));
+    }
+
+    // Throws unless the token belongs to the user and the show and is currently admitted
+    public void validate(final Show show, final User user, final Long tokenId) throws Exception {
+        final WaitingRoom room = rooms.get(show.getId());
+        if (room == null) return; // show is not gated
+        if (tokenId == null) {
+            throw new Exception("Show " + show.getId() + " requires an admission token");
+        }
+        final AdmissionToken token = getToken(room, tokenId);
+        if (token.getUser().getUserId() != user.getUserId()) {
+            throw new Exception("Admission token " + tokenId + " belongs to another user");
+        }
+        if (!room.isAdmitted(token)) {
+            throw new Exception("Admission token " + tokenId + " is not admitted yet or has expired");
+        }
+    }
+
+    private WaitingRoom getWaitingRoom(final int showId) throws Exception {
+        final WaitingRoom room = rooms.get(showId);
+        if (room == null) {
+            throw new Exception("Show " + showId + " has no waiting room");
+        }
+        return room;
+    }
+
+    private AdmissionToken getToken(final WaitingRoom room, final long tokenId) throws Exception {
+        final AdmissionToken token = room.getToken(tokenId);
+        if (token == null) {
+            throw new Exception("Admission token " + tokenId + " not found or expired for show " + room.getShowId());
+        }
+        return token;
+    }
+}
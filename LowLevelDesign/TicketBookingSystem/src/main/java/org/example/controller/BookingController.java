@@ -1,7 +1,9 @@
 package org.example.controller;
 
+import org.example.enums.SeatCategory;
 import org.example.models.Seat;
 import org.example.service.BookingService;
+import org.example.service.SeatAvailabilityService;
 import org.example.service.ShowService;
 import org.example.service.TheatreService;
 import org.example.models.Show;
@@ -11,18 +13,27 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class BookingController {
+    // Attempts for a best-available booking before giving up (the suggested seats can be taken meanwhile)
+    private static final int BEST_AVAILABLE_ATTEMPTS = 3;
     // Services required to handle booking-related operations
     private final ShowService showService;
     private final BookingService bookingService;
     private final TheatreService theatreService;
+    private final SeatAvailabilityService seatAvailabilityService;
     public BookingController(final ShowService showService, final BookingService bookingService,
-                             final TheatreService theatreService){
+                             final TheatreService theatreService, final SeatAvailabilityService seatAvailabilityService){
         this.showService = showService;
         this.bookingService = bookingService;
         this.theatreService = theatreService;
+        this.seatAvailabilityService = seatAvailabilityService;
     };
 
     public String createBooking(final User user, final int showId, final List<Integer> seatsIds) throws Exception{
+        return createBooking(user, showId, seatsIds, null);
+    }
+
+    // For shows behind a waiting room: admissionTokenId comes from WaitingRoomController.joinWaitingRoom
+    public String createBooking(final User user, final int showId, final List<Integer> seatsIds, final Long admissionTokenId) throws Exception{
         final Show show = showService.getShow(showId); // Retrieve the show object
         // Convert seat IDs to Seat objects
         final List<Seat> seats = new ArrayList<>();
@@ -30,6 +41,31 @@ public class BookingController {
             Seat seat = theatreService.getSeat(seatsId);
             seats.add(seat);
         }
-        return bookingService.createBooking(user, show, seats).getId(); // Create and return booking ID
+        return bookingService.createBooking(user, show, seats, admissionTokenId).getId(); // Create and return booking ID
+    }
+
+    // Books the best block of seatCount adjacent seats in the category in one call
+    public String createBestAvailableBooking(final User user, final int showId, final int seatCount,
+                                             final SeatCategory seatCategory) throws Exception {
+        return createBestAvailableBooking(user, showId, seatCount, seatCategory, null);
+    }
+
+    // For shows behind a waiting room: admissionTokenId comes from WaitingRoomController.joinWaitingRoom
+    public String createBestAvailableBooking(final User user, final int showId, final int seatCount,
+                                             final SeatCategory seatCategory, final Long admissionTokenId) throws Exception {
+        final Show show = showService.getShow(showId);
+        Exception lastFailure = null;
+        for (int attempt = 0; attempt < BEST_AVAILABLE_ATTEMPTS; attempt++) {
+            final List<Seat> seats = seatAvailabilityService.findBestAvailableSeats(show, seatCategory, seatCount);
+            if (seats.isEmpty()) {
+                throw new Exception("No " + seatCount + " adjacent " + seatCategory + " seats available for show " + showId);
+            }
+            try {
+                return bookingService.createBooking(user, show, seats, admissionTokenId).getId();
+            } catch (Exception e) {
+                lastFailure = e; // Lost a seat to another buyer, ask for the next best block
+            }
+        }
+        throw lastFailure;
     }
 }
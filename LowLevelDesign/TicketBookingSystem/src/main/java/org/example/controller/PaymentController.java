@@ -1,8 +1,11 @@
 package org.example.controller;
 
+import org.example.payment.PaymentResult;
 import org.example.service.PaymentService;
 import org.example.user.User;
 
+import java.util.concurrent.CompletableFuture;
+
 public class PaymentController {
     // Service to handle payment-related logic
     private final PaymentService paymentService;
@@ -12,4 +15,9 @@ public class PaymentController {
     public void processPayment(final String bookingId, final User user) throws Exception {
         paymentService.processPayment(bookingId, user);
     }
+    // Returns immediately; retrying with the same idempotency key returns the same payment
+    public CompletableFuture<PaymentResult> processPaymentAsync(final String bookingId, final User user,
+                                                                final String idempotencyKey) {
+        return paymentService.processPaymentAsync(bookingId, user, idempotencyKey);
+    }
 }
@@ -0,0 +1,26 @@
+package org.example.controller;
+
+import org.example.enums.SeatCategory;
+import org.example.models.Seat;
+import org.example.models.Show;
+import org.example.pricing.DynamicSeatPricingEngine;
+import org.example.service.ShowService;
+
+import java.util.List;
+import java.util.Map;
+
+public class PricingController {
+    private final DynamicSeatPricingEngine pricingEngine;
+    private final ShowService showService;
+    public PricingController(DynamicSeatPricingEngine pricingEngine, ShowService showService) {
+        this.pricingEngine = pricingEngine;
+        this.showService = showService;
+    }
+    // Current price of each seat category for the show
+    public Map<SeatCategory, Integer> getSeatPrices(final int showId) throws Exception {
+        return pricingEngine.quote(showService.getShow(showId));
+    }
+    public int quoteSeats(final int showId, final List<Seat> seats) throws Exception {
+        return pricingEngine.quoteSeats(showService.getShow(showId), seats);
+    }
+}
@@ -1,8 +1,11 @@
 package org.example.controller;
 
+import org.example.enums.SeatCategory;
 import org.example.models.Movie;
 import org.example.models.Screen;
 import org.example.models.Seat;
+import org.example.seats.SeatMapSnapshot;
+import org.example.seats.SeatMapSubscriber;
 import org.example.service.MovieService;
 import org.example.service.SeatAvailabilityService;
 import org.example.service.ShowService;
@@ -29,14 +32,30 @@ public class ShowController {
         this.movieService = movieService;
     }
     public int createShow(final int movieId, final int screenId, final Date startTime,
-                          final Integer durationInSeconds, final String showInfo) throws Exception{
+                          final Integer durationInMinutes, final String showInfo) throws Exception{
         final Screen screen = theatreService.getScreen(screenId);
         final Movie movie = movieService.getMovie(movieId);
-        return showService.createShow(movie, screen, startTime, durationInSeconds, showInfo).getId();
+        return showService.createShow(movie, screen, startTime, durationInMinutes, showInfo).getId();
+    }
+    // Listing query: shows of a movie in a theatre starting between from and to
+    public List<Integer> findShows(final int movieId, final int theatreId, final Date from, final Date to) {
+        return showService.findShows(movieId, theatreId, from, to).stream().map(Show::getId).collect(Collectors.toList());
     }
     public List<Integer> getAvailableSeats(final int showId) throws Exception{
         final Show show = showService.getShow(showId);
         final List<Seat> availableSeats = seatAvailabilityService.getAvailableSeats(show);
         return availableSeats.stream().map(Seat::getId).collect(Collectors.toList());
     }
+    // Push alternative to polling getAvailableSeats: returns the current seat map and streams changes to the subscriber
+    public SeatMapSnapshot subscribeToSeatMap(final int showId, final SeatMapSubscriber subscriber) throws Exception {
+        return seatAvailabilityService.subscribe(showService.getShow(showId), subscriber);
+    }
+    public void unsubscribeFromSeatMap(final int showId, final SeatMapSubscriber subscriber) throws Exception {
+        seatAvailabilityService.unsubscribe(showService.getShow(showId), subscriber);
+    }
+    public List<Integer> getBestAvailableSeats(final int showId, final int seatCount, final SeatCategory seatCategory) throws Exception {
+        final Show show = showService.getShow(showId);
+        return seatAvailabilityService.findBestAvailableSeats(show, seatCategory, seatCount).stream()
+                .map(Seat::getId).collect(Collectors.toList());
+    }
 }
@@ -2,9 +2,13 @@ package org.example.controller;
 
 import org.example.enums.SeatCategory;
 import org.example.models.Screen;
+import org.example.models.Seat;
 import org.example.service.TheatreService;
 import org.example.models.Theatre;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class TheatreController {
     private final TheatreService theatreService;
     // Constructor to inject TheatreService
@@ -23,4 +27,12 @@ public class TheatreController {
         final Screen screen = theatreService.getScreen(screenId);
         return theatreService.createSeatInScreen(rowNo, seatCategory, screen, seatCost).getId();
     }
+
+    // Creates a whole row of seats at once; returns their IDs in seat order
+    public List<Integer> createSeatsInScreen(final Integer rowNo, final SeatCategory seatCategory, final int screenId,
+                                             final int seatCost, final int seatCount) throws Exception {
+        final Screen screen = theatreService.getScreen(screenId);
+        return theatreService.createSeatsInScreen(rowNo, seatCategory, screen, seatCost, seatCount).stream()
+                .map(Seat::getId).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,32 @@
+package org.example.controller;
+
+import org.example.admission.WaitingRoomService;
+import org.example.models.Show;
+import org.example.service.ShowService;
+import org.example.user.User;
+
+public class WaitingRoomController {
+    // Services required to queue users in front of high-demand shows
+    private final WaitingRoomService waitingRoomService;
+    private final ShowService showService;
+    public WaitingRoomController(final WaitingRoomService waitingRoomService, final ShowService showService) {
+        this.waitingRoomService = waitingRoomService;
+        this.showService = showService;
+    }
+    public void openWaitingRoom(final int showId, final double admitRatePerSecond, final int burst,
+                                final long admissionWindowMillis) throws Exception {
+        final Show show = showService.getShow(showId);
+        waitingRoomService.openWaitingRoom(show, admitRatePerSecond, burst, admissionWindowMillis);
+    }
+    // Returns the admission token ID to pass to BookingController.createBooking once admitted
+    public long joinWaitingRoom(final int showId, final User user) throws Exception {
+        final Show show = showService.getShow(showId);
+        return waitingRoomService.join(show, user).getTokenId();
+    }
+    public long getQueuePosition(final int showId, final long tokenId) throws Exception {
+        return waitingRoomService.getPosition(showId, tokenId);
+    }
+    public long getEstimatedWaitSeconds(final int showId, final long tokenId) throws Exception {
+        return waitingRoomService.getEstimatedWaitSeconds(showId, tokenId);
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.enums;
+
+// Enum to represent the outcome of a payment for a booking
+public enum PaymentStatus {
+    SUCCEEDED, // Charged and the booking is confirmed, even if persisting the confirmation failed
+    FAILED, // Not charged; retries ran out or the seat hold expired first
+    REFUND_PENDING; // Charged, but the booking could not be confirmed, so the charge must be reversed
+}
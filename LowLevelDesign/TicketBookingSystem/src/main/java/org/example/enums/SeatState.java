@@ -0,0 +1,8 @@
+package org.example.enums;
+
+// Enum to represent the state of a seat for one show
+public enum SeatState {
+    FREE, // Seat can be selected
+    LOCKED, // Seat is held by a user who is completing the booking
+    BOOKED; // Seat belongs to a confirmed booking
+}
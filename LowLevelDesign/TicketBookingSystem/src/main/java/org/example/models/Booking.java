@@ -7,7 +7,8 @@ import java.util.List;
 
 public class Booking {
     private final String id;
-    private BookingStatus bookingStatus;
+    // Written under the booking's monitor, read without it
+    private volatile BookingStatus bookingStatus;
     private final Show show;
     private Screen screen;
     private final List<Seat> seatsBooked;
@@ -25,14 +26,14 @@ public class Booking {
         return this.bookingStatus == BookingStatus.CONFIRMED;
     };
 
-    public void confirmBooking() throws Exception {
+    public synchronized void confirmBooking() throws Exception {
         if (this.bookingStatus != BookingStatus.CREATED) {
             throw new Exception("Cannot confirm a booking that is not in the Created state.");
         }
         this.bookingStatus = BookingStatus.CONFIRMED; // Update the booking status to Confirmed.
     };
 
-    public void expireBooking() throws Exception {
+    public synchronized void expireBooking() throws Exception {
         if (this.bookingStatus != BookingStatus.CREATED) {
             throw new Exception("Cannot expire a booking that is not in the Created state.");
         }
@@ -25,4 +25,8 @@ public class Movie {
         return id;
     }
 
+    public String getMovieCategory() {
+        return movieCategory;
+    }
+
 }
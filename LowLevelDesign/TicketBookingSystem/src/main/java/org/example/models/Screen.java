@@ -1,31 +1,84 @@
 package org.example.models;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.Map;
 
+// Seats are published as an immutable layout: readers take the current layout without locking,
+// and adding seats builds and publishes a new one, so seats should be added a row or a screen at a
+// time with addSeats. A seat keeps its index for the screen's lifetime.
+// Per-show seat state (locks, availability, bookings) is sized from the layout, so the layout is
+// sealed once the first show is scheduled on the screen and seats can no longer be added.
 public class Screen {
     private final int id; // Unique identifier for the screen
     private final String type;  // type of the screen
     private final String name;  // Name of the screen
     private final Theatre theatre;  // The theater to which this screen belongs
-    private final List<Seat> seats;   // List of seats available in this screen
+    private volatile Layout layout = Layout.EMPTY;  // Seats available in this screen
+    private boolean layoutSealed;  // guarded by this
+
+    private record Layout(List<Seat> seats, Map<Integer, Integer> seatIndexById) {
+        static final Layout EMPTY = new Layout(List.of(), Map.of());
+
+        // Seat ID -> position in the seats list
+        static Layout of(final Seat[] seats) {
+            final Map<Integer, Integer> index = new HashMap<>();
+            for (int i = 0; i < seats.length; i++) {
+                index.put(seats[i].getId(), i);
+            }
+            return new Layout(List.of(seats), Map.copyOf(index));
+        }
+    }
+
     public Screen(final int id, final String type, final String name, final Theatre theatre) {
         this.id = id;
         this.type = type;
         this.name = name;
         this.theatre = theatre;
-        this.seats = new ArrayList<>();
     }
     public void addSeat(final Seat seat) {
-        this.seats.add(seat);
+        addSeats(List.of(seat));
+    }
+
+    // One layout copy for the whole batch
+    public synchronized void addSeats(final List<Seat> newSeats) {
+        if (layoutSealed) {
+            throw new IllegalStateException("Screen " + id + " already has shows scheduled; its seats can no longer change");
+        }
+        final Layout current = layout;
+        final Seat[] seats = Arrays.copyOf(current.seats().toArray(new Seat[0]), current.seats().size() + newSeats.size());
+        int next = current.seats().size();
+        final Set<Integer> batchIds = new HashSet<>();
+        for (Seat seat : newSeats) {
+            if (current.seatIndexById().containsKey(seat.getId()) || !batchIds.add(seat.getId())) {
+                throw new IllegalArgumentException("Seat " + seat.getId() + " already in screen " + id);
+            }
+            seats[next++] = seat;
+        }
+        layout = Layout.of(seats);
+    }
+
+    // Called when a show is scheduled on the screen
+    public synchronized void sealLayout() {
+        layoutSealed = true;
+    }
+
+    // Position of the seat in this screen (0-based), or -1 if the seat belongs to another screen
+    public int getSeatIndex(final Seat seat) {
+        final Integer index = layout.seatIndexById().get(seat.getId());
+        return index == null ? -1 : index;
     }
 
     // Getters and Setters Section Start
     public int getScreenId() {
         return id;
     }
+    // Immutable snapshot of the seats in index order
     public List<Seat> getSeats() {
-        return seats;
+        return layout.seats();
     };
 
     public int getId() {
@@ -44,4 +97,4 @@ public class Screen {
         return theatre;
     }
     // Getters and Setters Section End
-}
\ No newline at end of file
+}
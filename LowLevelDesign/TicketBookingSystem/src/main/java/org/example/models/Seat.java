@@ -27,5 +27,21 @@ public class Seat {
         return seatCategory;
     }
 
+    public int getSeatCost() {
+        return seatCost;
+    }
+
+    // Seats are identified by their ID, so lists and sets of seats compare by seat rather than by instance
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof Seat seat)) return false;
+        return id == seat.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
+    }
 
 }
@@ -11,7 +11,7 @@ public class Show {
     private final Screen screen;
     // Start time of the show
     private final Date startTime;
-    // Duration of the show in seconds
+    // Duration of the show in minutes
     private final Integer durationInMinutes;
 
     private final String showInfo;
@@ -35,9 +35,15 @@ public class Show {
     public Date getStartTime() {
         return startTime;
     }
+    public String getShowInfo() {
+        return showInfo;
+    }
     public Integer getdurationInMinutes() {
         return durationInMinutes;
     }
+    public Date getEndTime() {
+        return new Date(startTime.getTime() + durationInMinutes * 60_000L);
+    }
     // Getters Section End
 
 
@@ -1,19 +1,19 @@
 package org.example.models;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Theatre {
     private final int id;
     private final String theatreName;
     private final String theatreInfo;
-    private final List<Screen> screenList;
+    private final List<Screen> screenList; // copy-on-write: screens are added rarely and listed often
 
     public Theatre(int id, String theatreName, String theatreInfo) {
         this.id = id;
         this.theatreName = theatreName;
         this.theatreInfo = theatreInfo;
-        this.screenList = new ArrayList<Screen>();
+        this.screenList = new CopyOnWriteArrayList<>();
     }
 
     public int getTheatreId() {
@@ -22,6 +22,9 @@ public class Theatre {
     public String getTheatreName() {
         return theatreName;
     }
+    public String getTheatreInfo() {
+        return theatreInfo;
+    }
 
     public List<Screen> getScreenList() {
         return screenList;
@@ -0,0 +1,10 @@
+package org.example.payment;
+
+import org.example.enums.PaymentStatus;
+
+// Outcome of one idempotent payment request; attempts counts the gateway calls it took
+public record PaymentResult(String bookingId, String idempotencyKey, PaymentStatus status, int attempts, String message) {
+    public boolean isSuccessful() {
+        return status == PaymentStatus.SUCCEEDED;
+    }
+}
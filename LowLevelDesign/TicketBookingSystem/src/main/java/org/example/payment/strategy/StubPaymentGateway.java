@@ -0,0 +1,27 @@
+package org.example.payment.strategy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Local stand-in for a payment provider: each call takes latencyMillis and fails with failureRate
+public class StubPaymentGateway implements PaymentStrategy {
+    private final long latencyMillis;
+    private final double failureRate;
+
+    public StubPaymentGateway(final long latencyMillis, final double failureRate) {
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public boolean processPayment() {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return ThreadLocalRandom.current().nextDouble() >= failureRate;
+    }
+}
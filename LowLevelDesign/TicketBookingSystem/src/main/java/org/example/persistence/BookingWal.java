@@ -0,0 +1,518 @@
+package org.example.persistence;
+
+import org.example.enums.BookingStatus;
+import org.example.enums.SeatCategory;
+import org.example.models.Booking;
+import org.example.models.Movie;
+import org.example.models.Screen;
+import org.example.models.Seat;
+import org.example.models.Show;
+import org.example.models.Theatre;
+import org.example.service.BookingListener;
+import org.example.service.BookingService;
+import org.example.service.CatalogListener;
+import org.example.service.MovieService;
+import org.example.service.ShowService;
+import org.example.service.TheatreService;
+import org.example.user.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-ahead log of catalog and booking events for the ticket booking services.
+ * Services only enqueue; a writer thread appends each drained batch with one write and fsyncs
+ * once syncEveryEvents events or syncIntervalMillis have built up. The log is split into
+ * wal-N.log segments that roll at segmentBytes. Every snapshotEveryEvents events the writer rolls
+ * to a new segment, writes the catalog and the live bookings to a snapshot, and deletes the older
+ * segments, so recovery is one snapshot load plus the segments written since.
+ * <p>
+ * A booking record carries its seat hold deadline, so seat locks are rebuilt from it rather than
+ * logged separately. On recovery the catalog is rebuilt in log order, booking records are folded to
+ * each booking's final status, and the bookings are then restored on their shows' booking engines in
+ * parallel. Replay is idempotent, so records already reflected in the snapshot can be replayed on top
+ * of it. Expired bookings are not part of the snapshot and are lost across a restart once their
+ * segment has been deleted.
+ * <p>
+ * A confirmation is only acknowledged once it is on disk: confirmBooking waits for the fsync of the
+ * batch holding its CONFIRMED record, and a batch holding one is synced straight away, so concurrent
+ * confirmations share a single fsync. If a write fails the log stops accepting events: confirmations
+ * waiting or arriving later fail, so none is acknowledged without being durable, and the failure is
+ * reported from {@link #getFailure} and {@link #close}.
+ */
+public class BookingWal implements CatalogListener, BookingListener, AutoCloseable {
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final int SNAPSHOT_MAGIC = 0x54425350; // "TBSP"
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final WalConfig config;
+    private final TheatreService theatreService;
+    private final MovieService movieService;
+    private final ShowService showService;
+    private final BookingService bookingService;
+    private final BlockingQueue<WalEvent> queue = new LinkedBlockingQueue<>();
+    private final WalCodec codec = new WalCodec();
+    private final ByteArrayOutputStream batchBytes = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream batchOut = new DataOutputStream(batchBytes);
+    // Encoded catalog records by (type, id), written at the head of every snapshot; writer thread only
+    private final Map<Long, byte[]> catalogRecords = new LinkedHashMap<>();
+    // Seats read during recovery, per screen ID, restored together before the next non-seat record
+    private final Map<Integer, List<Seat>> seatsToRestore = new LinkedHashMap<>();
+    // Confirmations appended but not fsynced yet; writer thread only
+    private final List<CompletableFuture<Void>> awaitingSync = new ArrayList<>();
+    private final Thread writer;
+
+    private long segment;
+    private FileChannel channel;
+    private long eventsSinceSnapshot;
+    private int unsyncedEvents;
+    private long lastSyncMillis;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    // A booking folded to its latest status while replaying
+    private record PendingBooking(String bookingId, int showId, User user, List<Integer> seatIds,
+                                  BookingStatus status, long holdDeadlineMillis) {
+        PendingBooking withStatus(BookingStatus next) {
+            return new PendingBooking(bookingId, showId, user, seatIds, next, holdDeadlineMillis);
+        }
+    }
+
+    private BookingWal(Path directory, WalConfig config, TheatreService theatreService, MovieService movieService,
+                       ShowService showService, BookingService bookingService) {
+        this.directory = directory;
+        this.config = config;
+        this.theatreService = theatreService;
+        this.movieService = movieService;
+        this.showService = showService;
+        this.bookingService = bookingService;
+        this.writer = new Thread(this::writeLoop, "booking-wal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    // Restores the catalog and bookings from the directory into the services, then starts logging new events
+    public static BookingWal open(Path directory, WalConfig config, TheatreService theatreService, MovieService movieService,
+                                  ShowService showService, BookingService bookingService) throws IOException {
+        Files.createDirectories(directory);
+        BookingWal wal = new BookingWal(directory, config, theatreService, movieService, showService, bookingService);
+        wal.recover();
+        theatreService.addListener(wal);
+        movieService.addListener(wal);
+        showService.addListener(wal);
+        bookingService.addListener(wal);
+        wal.writer.start();
+        return wal;
+    }
+
+    // Listener Section Start
+    @Override
+    public void onTheatreCreated(Theatre theatre) {
+        enqueue(WalEvent.theatre(theatre));
+    }
+
+    @Override
+    public void onScreenCreated(Screen screen) {
+        enqueue(WalEvent.screen(screen));
+    }
+
+    @Override
+    public void onSeatCreated(Screen screen, Seat seat) {
+        enqueue(WalEvent.seat(screen, seat));
+    }
+
+    @Override
+    public void onMovieCreated(Movie movie) {
+        enqueue(WalEvent.movie(movie));
+    }
+
+    @Override
+    public void onShowCreated(Show show) {
+        enqueue(WalEvent.show(show));
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        // Runs on the show's booking engine, so the seat locks are still the ones just taken
+        enqueue(WalEvent.booking(booking, BookingStatus.CREATED, bookingService.getHoldDeadline(booking)));
+    }
+
+    @Override
+    public void onBookingConfirmed(Booking booking) {
+        onBookingConfirmedDurably(booking);
+    }
+
+    @Override
+    public CompletableFuture<Void> onBookingConfirmedDurably(Booking booking) {
+        WalEvent event = WalEvent.bookingStatus(booking, BookingStatus.CONFIRMED, new CompletableFuture<>());
+        enqueue(event);
+        return event.durable();
+    }
+
+    @Override
+    public void onBookingExpired(Booking booking) {
+        enqueue(WalEvent.bookingStatus(booking, BookingStatus.EXPIRED));
+    }
+    // Listener Section End
+
+    private void enqueue(WalEvent event) {
+        if (running && failure == null) {
+            queue.add(event);
+            // Re-checked after adding: once the writer has stopped, whoever takes the event out fails it
+            if ((running && failure == null) || !queue.remove(event)) return;
+        }
+        reject(event);
+    }
+
+    private void reject(WalEvent event) {
+        if (event.durable() != null) {
+            IOException cause = failure;
+            event.durable().completeExceptionally(cause != null
+                    ? new IOException("Booking WAL stopped after a write error", cause)
+                    : new IOException("Booking WAL is closed"));
+        }
+    }
+
+    // Null unless a write failed and the log stopped
+    public IOException getFailure() {
+        return failure;
+    }
+
+    private Path segmentFile(long segment) {
+        return directory.resolve("wal-" + segment + ".log");
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith("wal-") || !name.endsWith(".log")) return -1;
+        return Long.parseLong(name.substring("wal-".length(), name.length() - ".log".length()));
+    }
+
+    private List<Long> segmentsFrom(long first) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                long number = segmentNumber(file);
+                if (number >= first) segments.add(number);
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private void recover() throws IOException {
+        Map<String, PendingBooking> bookings = new LinkedHashMap<>();
+        Map<Integer, User> users = new HashMap<>();
+
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+            if (buffer.remaining() < Integer.BYTES + Long.BYTES || buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a booking snapshot: " + snapshot);
+            }
+            segment = buffer.getLong();
+            byte[] record;
+            while ((record = WalCodec.readRecordBody(buffer)) != null) {
+                apply(record, bookings, users);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException("Corrupt booking snapshot " + snapshot);
+            }
+        }
+
+        List<Long> segments = segmentsFrom(segment);
+        for (int i = 0; i < segments.size(); i++) {
+            Path file = segmentFile(segments.get(i));
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            int validEnd = 0;
+            byte[] record;
+            while ((record = WalCodec.readRecordBody(buffer)) != null) {
+                apply(record, bookings, users);
+                validEnd = buffer.position();
+            }
+            if (validEnd < buffer.capacity()) {
+                if (i < segments.size() - 1) {
+                    throw new IOException("Corrupt record in " + file + " at offset " + validEnd);
+                }
+                // Drop a torn tail so new records append after the last complete one
+                try (FileChannel truncate = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    truncate.truncate(validEnd);
+                }
+            }
+        }
+        restorePendingSeats();
+        // Segments before the snapshot's first one are already covered by it
+        deleteOlderSegments();
+        if (!segments.isEmpty()) {
+            segment = segments.get(segments.size() - 1);
+        }
+
+        // One command per booking on its show's engine: shows replay in parallel, each in log order
+        List<CompletableFuture<Booking>> restores = new ArrayList<>(bookings.size());
+        for (PendingBooking pending : bookings.values()) {
+            restores.add(restore(pending));
+        }
+        try {
+            CompletableFuture.allOf(restores.toArray(CompletableFuture<?>[]::new)).join();
+        } catch (RuntimeException e) {
+            throw new IOException("Could not restore bookings from " + directory, e.getCause() == null ? e : e.getCause());
+        }
+
+        channel = FileChannel.open(segmentFile(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        lastSyncMillis = System.currentTimeMillis();
+    }
+
+    private CompletableFuture<Booking> restore(PendingBooking pending) {
+        try {
+            Show show = showService.getShow(pending.showId());
+            List<Seat> seats = new ArrayList<>(pending.seatIds().size());
+            for (int seatId : pending.seatIds()) {
+                seats.add(theatreService.getSeat(seatId));
+            }
+            return bookingService.restoreBooking(pending.bookingId(), show, pending.user(), seats,
+                    pending.status(), pending.holdDeadlineMillis());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void apply(byte[] record, Map<String, PendingBooking> bookings, Map<Integer, User> users) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = in.readByte();
+        if (type != WalEvent.SEAT) {
+            restorePendingSeats();
+        }
+        try {
+            switch (type) {
+                case WalEvent.THEATRE -> theatreService.restoreTheatre(in.readInt(), in.readUTF(), in.readUTF());
+                case WalEvent.SCREEN -> theatreService.restoreScreen(in.readInt(), in.readUTF(), in.readUTF(), in.readInt());
+                case WalEvent.SEAT -> {
+                    int seatId = in.readInt();
+                    int rowNo = in.readInt();
+                    SeatCategory category = SeatCategory.values()[in.readByte()];
+                    int screenId = in.readInt();
+                    seatsToRestore.computeIfAbsent(screenId, id -> new ArrayList<>())
+                            .add(new Seat(seatId, rowNo, category, in.readInt()));
+                }
+                case WalEvent.MOVIE -> movieService.restoreMovie(in.readInt(), in.readUTF(), in.readInt(), in.readUTF());
+                case WalEvent.SHOW -> {
+                    int showId = in.readInt();
+                    Movie movie = movieService.getMovie(in.readInt());
+                    Screen screen = theatreService.getScreen(in.readInt());
+                    showService.restoreShow(showId, movie, screen, new Date(in.readLong()), in.readInt(), in.readUTF());
+                }
+                case WalEvent.BOOKING -> {
+                    String bookingId = in.readUTF();
+                    int showId = in.readInt();
+                    int userId = in.readInt();
+                    String name = in.readUTF();
+                    String email = in.readUTF();
+                    User user = users.computeIfAbsent(userId, id -> new User(id, name, email));
+                    BookingStatus status = BookingStatus.values()[in.readByte()];
+                    long holdDeadline = in.readLong();
+                    int seatCount = in.readInt();
+                    List<Integer> seatIds = new ArrayList<>(seatCount);
+                    for (int i = 0; i < seatCount; i++) seatIds.add(in.readInt());
+                    PendingBooking pending = new PendingBooking(bookingId, showId, user, List.copyOf(seatIds), status, holdDeadline);
+                    // A booking can appear in both the snapshot and the segment after it; keep the later status
+                    bookings.merge(bookingId, pending, (known, replay) -> known.status() == BookingStatus.CREATED ? replay : known);
+                }
+                case WalEvent.BOOKING_STATUS -> {
+                    String bookingId = in.readUTF();
+                    BookingStatus status = BookingStatus.values()[in.readByte()];
+                    // Status only moves forward from CREATED; unknown IDs were expired before the snapshot
+                    bookings.computeIfPresent(bookingId, (id, known) ->
+                            known.status() == BookingStatus.CREATED ? known.withStatus(status) : known);
+                }
+                default -> throw new IOException("Unknown WAL record type " + type + " in " + directory);
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not replay WAL record type " + type + " in " + directory, e);
+        }
+        if (type < WalEvent.BOOKING) {
+            catalogRecords.put(catalogKey(record), record);
+        }
+    }
+
+    // One layout update per screen instead of one per seat
+    private void restorePendingSeats() throws IOException {
+        try {
+            for (Map.Entry<Integer, List<Seat>> entry : seatsToRestore.entrySet()) {
+                theatreService.restoreSeats(entry.getKey(), entry.getValue());
+            }
+        } catch (Exception e) {
+            throw new IOException("Could not replay WAL seat records in " + directory, e);
+        } finally {
+            seatsToRestore.clear();
+        }
+    }
+
+    // Catalog records start with the type byte followed by the entry's int ID
+    private static long catalogKey(byte[] record) {
+        return ((long) record[0] << 32) | (ByteBuffer.wrap(record, 1, Integer.BYTES).getInt() & 0xFFFFFFFFL);
+    }
+
+    private void deleteOlderSegments() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                long number = segmentNumber(file);
+                if (number >= 0 && number < segment) Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<WalEvent> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (running || !queue.isEmpty()) {
+                WalEvent first = queue.poll(config.syncIntervalMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    append(batch);
+                    unsyncedEvents += batch.size();
+                    eventsSinceSnapshot += batch.size();
+                    batch.clear();
+                }
+                // Waiting confirmations are synced with the batch that carried them (group commit)
+                if (unsyncedEvents >= config.syncEveryEvents() || !awaitingSync.isEmpty()
+                        || (unsyncedEvents > 0 && System.currentTimeMillis() - lastSyncMillis >= config.syncIntervalMillis())) {
+                    sync();
+                }
+                if (eventsSinceSnapshot >= config.snapshotEveryEvents()) {
+                    snapshot();
+                } else if (channel.size() >= config.segmentBytes()) {
+                    roll();
+                }
+            }
+            sync();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            fail(e instanceof IOException io ? io : new IOException("Booking WAL write failed", e));
+        }
+    }
+
+    // Stops logging after a write error instead of letting the queue grow with no writer
+    private void fail(IOException e) {
+        failure = e;
+        running = false;
+        // Listeners stay registered so later confirmations are rejected rather than acknowledged unlogged
+        awaitingSync.forEach(durable -> durable.completeExceptionally(new IOException("Booking WAL stopped after a write error", e)));
+        awaitingSync.clear();
+        WalEvent event;
+        while ((event = queue.poll()) != null) {
+            reject(event);
+        }
+        System.err.println("Booking WAL stopped, events are no longer persisted: " + e);
+    }
+
+    // One write for the whole batch; the fsync is left to sync()
+    private void append(List<WalEvent> batch) throws IOException {
+        batchBytes.reset();
+        for (WalEvent event : batch) {
+            byte[] record = codec.encode(event);
+            WalCodec.writeRecord(record, batchOut);
+            if (event.isCatalog()) {
+                catalogRecords.put(catalogKey(record), record);
+            }
+            if (event.durable() != null) {
+                awaitingSync.add(event.durable());
+            }
+        }
+        batchOut.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(batchBytes.toByteArray(), 0, batchBytes.size());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void sync() throws IOException {
+        if (unsyncedEvents > 0) {
+            channel.force(false);
+        }
+        unsyncedEvents = 0;
+        lastSyncMillis = System.currentTimeMillis();
+        awaitingSync.forEach(durable -> durable.complete(null));
+        awaitingSync.clear();
+    }
+
+    private void roll() throws IOException {
+        sync();
+        channel.close();
+        segment++;
+        channel = FileChannel.open(segmentFile(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void snapshot() throws IOException {
+        // Events still queued were applied in memory before the snapshot and go to the new segment
+        roll();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeLong(segment);
+        for (byte[] record : catalogRecords.values()) {
+            WalCodec.writeRecord(record, out);
+        }
+        for (Booking booking : bookingService.getLiveBookings()) {
+            BookingStatus status = booking.getBookingStatus();
+            long holdDeadline = status == BookingStatus.CREATED ? bookingService.getHoldDeadline(booking) : 0;
+            WalCodec.writeRecord(codec.encode(WalEvent.booking(booking, status, holdDeadline)), out);
+        }
+        out.flush();
+
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel snapshotChannel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) snapshotChannel.write(buffer);
+            snapshotChannel.force(true);
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteOlderSegments();
+        eventsSinceSnapshot = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        theatreService.removeListener(this);
+        movieService.removeListener(this);
+        showService.removeListener(this);
+        bookingService.removeListener(this);
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Left behind only if the writer was interrupted or stopped on a failure
+        WalEvent event;
+        while ((event = queue.poll()) != null) {
+            reject(event);
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
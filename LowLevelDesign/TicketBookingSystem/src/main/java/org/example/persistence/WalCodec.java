@@ -0,0 +1,114 @@
+package org.example.persistence;
+
+import org.example.models.Booking;
+import org.example.models.Movie;
+import org.example.models.Screen;
+import org.example.models.Seat;
+import org.example.models.Show;
+import org.example.models.Theatre;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout shared by WAL segments and snapshots. Each record is
+ * [int bodyLength][body][int crc32(body)], where body starts with the event type byte;
+ * a bad length or checksum marks a torn tail and ends replay of that segment.
+ */
+class WalCodec {
+    static final int MAX_RECORD_BYTES = 1024 * 1024;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+    private final DataOutputStream bodyOut = new DataOutputStream(body);
+
+    byte[] encode(WalEvent event) throws IOException {
+        body.reset();
+        bodyOut.writeByte(event.type());
+        switch (event.type()) {
+            case WalEvent.THEATRE -> {
+                Theatre theatre = (Theatre) event.subject();
+                bodyOut.writeInt(theatre.getTheatreId());
+                bodyOut.writeUTF(theatre.getTheatreName());
+                bodyOut.writeUTF(theatre.getTheatreInfo());
+            }
+            case WalEvent.SCREEN -> {
+                Screen screen = (Screen) event.subject();
+                bodyOut.writeInt(screen.getScreenId());
+                bodyOut.writeUTF(screen.getType());
+                bodyOut.writeUTF(screen.getName());
+                bodyOut.writeInt(screen.getTheatre().getTheatreId());
+            }
+            case WalEvent.SEAT -> {
+                Seat seat = (Seat) event.subject();
+                bodyOut.writeInt(seat.getId());
+                bodyOut.writeInt(seat.getRow());
+                bodyOut.writeByte(seat.getSeatCategory().ordinal());
+                bodyOut.writeInt(event.screen().getScreenId());
+                bodyOut.writeInt(seat.getSeatCost());
+            }
+            case WalEvent.MOVIE -> {
+                Movie movie = (Movie) event.subject();
+                bodyOut.writeInt(movie.getMovieId());
+                bodyOut.writeUTF(movie.getMovieName());
+                bodyOut.writeInt(movie.getMovieDuration());
+                bodyOut.writeUTF(movie.getMovieCategory());
+            }
+            case WalEvent.SHOW -> {
+                Show show = (Show) event.subject();
+                bodyOut.writeInt(show.getId());
+                bodyOut.writeInt(show.getMovie().getMovieId());
+                bodyOut.writeInt(show.getScreen().getScreenId());
+                bodyOut.writeLong(show.getStartTime().getTime());
+                bodyOut.writeInt(show.getdurationInMinutes());
+                bodyOut.writeUTF(show.getShowInfo() == null ? "" : show.getShowInfo());
+            }
+            case WalEvent.BOOKING -> {
+                Booking booking = (Booking) event.subject();
+                bodyOut.writeUTF(booking.getId());
+                bodyOut.writeInt(booking.getShow().getId());
+                bodyOut.writeInt(booking.getUser().getUserId());
+                bodyOut.writeUTF(booking.getUser().getUserName());
+                bodyOut.writeUTF(booking.getUser().getUserEmail());
+                bodyOut.writeByte(event.status().ordinal());
+                bodyOut.writeLong(event.holdDeadlineMillis());
+                bodyOut.writeInt(booking.getSeatsBooked().size());
+                for (Seat seat : booking.getSeatsBooked()) {
+                    bodyOut.writeInt(seat.getId());
+                }
+            }
+            case WalEvent.BOOKING_STATUS -> {
+                Booking booking = (Booking) event.subject();
+                bodyOut.writeUTF(booking.getId());
+                bodyOut.writeByte(event.status().ordinal());
+            }
+            default -> throw new IllegalArgumentException("Unknown WAL event " + event.type());
+        }
+        bodyOut.flush();
+        return body.toByteArray();
+    }
+
+    static void writeRecord(byte[] record, DataOutput out) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        out.writeInt(record.length);
+        out.write(record);
+        out.writeInt((int) crc.getValue());
+    }
+
+    // Returns null at end of file or at the first torn/corrupt record
+    static byte[] readRecordBody(ByteBuffer in) {
+        if (in.remaining() < Integer.BYTES) return null;
+        int length = in.getInt();
+        if (length <= 0 || length > MAX_RECORD_BYTES || in.remaining() < length + Integer.BYTES) return null;
+        byte[] record = new byte[length];
+        in.get(record);
+        int expected = in.getInt();
+        CRC32 check = new CRC32();
+        check.update(record);
+        return (int) check.getValue() == expected ? record : null;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.persistence;
+
+// Tuning for BookingWal. syncEveryEvents = 1 fsyncs every drained batch (nothing acknowledged is lost);
+// larger values trade the last few unsynced events on a crash for fewer fsyncs.
+public record WalConfig(long segmentBytes, int syncEveryEvents, long syncIntervalMillis, long snapshotEveryEvents) {
+    public static final WalConfig DEFAULT = new WalConfig(16L * 1024 * 1024, 1, 10, 100_000);
+
+    public WalConfig {
+        if (segmentBytes <= 0 || syncEveryEvents <= 0 || syncIntervalMillis <= 0 || snapshotEveryEvents <= 0) {
+            throw new IllegalArgumentException("WAL settings must be positive");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.persistence;
+
+import org.example.enums.BookingStatus;
+import org.example.models.Booking;
+import org.example.models.Movie;
+import org.example.models.Screen;
+import org.example.models.Seat;
+import org.example.models.Show;
+import org.example.models.Theatre;
+
+import java.util.concurrent.CompletableFuture;
+
+// Status and hold deadline are captured when the event happens; the booking itself keeps changing.
+// durable, when set, is completed once the record has been fsynced (or failed if it never will be).
+record WalEvent(byte type, Object subject, Screen screen, BookingStatus status, long holdDeadlineMillis,
+                CompletableFuture<Void> durable) {
+    static final byte THEATRE = 1;
+    static final byte SCREEN = 2;
+    static final byte SEAT = 3;
+    static final byte MOVIE = 4;
+    static final byte SHOW = 5;
+    static final byte BOOKING = 6;
+    static final byte BOOKING_STATUS = 7;
+
+    static WalEvent theatre(Theatre theatre) {
+        return new WalEvent(THEATRE, theatre, null, null, 0, null);
+    }
+
+    static WalEvent screen(Screen screen) {
+        return new WalEvent(SCREEN, screen, screen, null, 0, null);
+    }
+
+    static WalEvent seat(Screen screen, Seat seat) {
+        return new WalEvent(SEAT, seat, screen, null, 0, null);
+    }
+
+    static WalEvent movie(Movie movie) {
+        return new WalEvent(MOVIE, movie, null, null, 0, null);
+    }
+
+    static WalEvent show(Show show) {
+        return new WalEvent(SHOW, show, null, null, 0, null);
+    }
+
+    static WalEvent booking(Booking booking, BookingStatus status, long holdDeadlineMillis) {
+        return new WalEvent(BOOKING, booking, null, status, holdDeadlineMillis, null);
+    }
+
+    static WalEvent bookingStatus(Booking booking, BookingStatus status) {
+        return new WalEvent(BOOKING_STATUS, booking, null, status, 0, null);
+    }
+
+    static WalEvent bookingStatus(Booking booking, BookingStatus status, CompletableFuture<Void> durable) {
+        return new WalEvent(BOOKING_STATUS, booking, null, status, 0, durable);
+    }
+
+    boolean isCatalog() {
+        return type < BOOKING;
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.pricing;
+
+import org.example.enums.SeatCategory;
+import org.example.models.Seat;
+import org.example.models.Show;
+import org.example.service.AvailabilityListener;
+import org.example.service.SeatAvailabilityService;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a price per seat category for every show. Each price is base x lead-time multiplier x demand
+ * multiplier, where demand is the share of the category that is locked or booked. Availability events
+ * re-price only the category that changed, and the lead-time tier is re-checked on each quote, so a
+ * quote for the whole seat map reads one small array instead of pricing every seat.
+ */
+public class DynamicSeatPricingEngine implements AvailabilityListener {
+    private static final SeatCategory[] CATEGORIES = SeatCategory.values();
+
+    private final PricingPolicy policy;
+    private final SeatAvailabilityService seatAvailabilityService;
+    // Tiers sorted by threshold, highest first, so the first match is the one that applies
+    private final List<PricingPolicy.LeadTimeTier> leadTimeTiers;
+    private final List<PricingPolicy.DemandTier> demandTiers;
+    private final Map<Integer, ShowPrices> pricesByShow = new ConcurrentHashMap<>();
+
+    // Published prices of one show; replaced as a whole so readers never see a half-updated array
+    private final class ShowPrices {
+        private final Show show;
+        private volatile int leadTimeTier; // written under this, read without locking by current()
+        private volatile int[] prices;
+
+        ShowPrices(Show show) {
+            this.show = show;
+            this.leadTimeTier = leadTimeTierAt(show, System.currentTimeMillis());
+            int[] initial = new int[CATEGORIES.length];
+            for (SeatCategory category : CATEGORIES) {
+                initial[category.ordinal()] = price(show, category, leadTimeTier);
+            }
+            this.prices = initial;
+        }
+
+        int[] current(long nowMillis) {
+            int tier = leadTimeTierAt(show, nowMillis);
+            if (tier != leadTimeTier) {
+                repriceAll(tier);
+            }
+            return prices;
+        }
+
+        private synchronized void repriceAll(int tier) {
+            if (tier == leadTimeTier) return;
+            leadTimeTier = tier;
+            int[] next = new int[CATEGORIES.length];
+            for (SeatCategory category : CATEGORIES) {
+                next[category.ordinal()] = price(show, category, tier);
+            }
+            prices = next;
+        }
+
+        synchronized void reprice(SeatCategory category) {
+            int price = price(show, category, leadTimeTier);
+            if (prices[category.ordinal()] == price) return;
+            int[] next = prices.clone();
+            next[category.ordinal()] = price;
+            prices = next;
+        }
+    }
+
+    private DynamicSeatPricingEngine(PricingPolicy policy, SeatAvailabilityService seatAvailabilityService) {
+        this.policy = policy;
+        this.seatAvailabilityService = seatAvailabilityService;
+        this.leadTimeTiers = policy.getLeadTimeTiers().stream()
+                .sorted(Comparator.comparing(PricingPolicy.LeadTimeTier::minLeadTime).reversed())
+                .toList();
+        this.demandTiers = policy.getDemandTiers().stream()
+                .sorted(Comparator.comparingDouble(PricingPolicy.DemandTier::minSellThrough).reversed())
+                .toList();
+    }
+
+    // Subscribes to availability changes only once the engine is fully constructed
+    public static DynamicSeatPricingEngine create(PricingPolicy policy, SeatAvailabilityService seatAvailabilityService) {
+        DynamicSeatPricingEngine engine = new DynamicSeatPricingEngine(policy, seatAvailabilityService);
+        seatAvailabilityService.addListener(engine);
+        return engine;
+    }
+
+    private ShowPrices pricesFor(Show show) {
+        return pricesByShow.computeIfAbsent(show.getId(), id -> new ShowPrices(show));
+    }
+
+    // Index into leadTimeTiers, or -1 if none applies (e.g. the show has started)
+    private int leadTimeTierAt(Show show, long nowMillis) {
+        long leadMillis = show.getStartTime().getTime() - nowMillis;
+        for (int i = 0; i < leadTimeTiers.size(); i++) {
+            if (leadMillis >= leadTimeTiers.get(i).minLeadTime().toMillis()) return i;
+        }
+        return -1;
+    }
+
+    private int price(Show show, SeatCategory category, int leadTimeTier) {
+        double multiplier = leadTimeTier < 0 ? 1.0 : leadTimeTiers.get(leadTimeTier).multiplier();
+        int seats = seatAvailabilityService.countSeats(show, category);
+        if (seats > 0) {
+            double sellThrough = (double) seatAvailabilityService.countTakenSeats(show, category) / seats;
+            for (PricingPolicy.DemandTier tier : demandTiers) {
+                if (sellThrough >= tier.minSellThrough()) {
+                    multiplier *= tier.multiplier();
+                    break;
+                }
+            }
+        }
+        return Math.max(policy.getMinimumPrice(), (int) Math.round(policy.getBasePrice(category) * multiplier));
+    }
+
+    @Override
+    public void onAvailabilityChanged(Show show, SeatCategory category) {
+        pricesFor(show).reprice(category);
+    }
+
+    public int getPrice(Show show, SeatCategory category) {
+        return pricesFor(show).current(System.currentTimeMillis())[category.ordinal()];
+    }
+
+    // Current price of every category, for rendering a seat map
+    public Map<SeatCategory, Integer> quote(Show show) {
+        int[] prices = pricesFor(show).current(System.currentTimeMillis());
+        Map<SeatCategory, Integer> quote = new EnumMap<>(SeatCategory.class);
+        for (SeatCategory category : CATEGORIES) {
+            quote.put(category, prices[category.ordinal()]);
+        }
+        return quote;
+    }
+
+    // Total for a set of seats, priced from a single view of the show's prices
+    public int quoteSeats(Show show, List<Seat> seats) {
+        int[] prices = pricesFor(show).current(System.currentTimeMillis());
+        int total = 0;
+        for (Seat seat : seats) {
+            total += prices[seat.getSeatCategory().ordinal()];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.pricing;
+
+import org.example.enums.SeatCategory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Base price per seat category, adjusted by how far away the show is and by how much of the
+// category is already taken. Within each kind of tier the one with the highest threshold that is met applies.
+public class PricingPolicy {
+    private final Map<SeatCategory, Integer> basePrices;
+    private final List<LeadTimeTier> leadTimeTiers;
+    private final List<DemandTier> demandTiers;
+    private final int minimumPrice;
+
+    private PricingPolicy(Builder builder) {
+        this.basePrices = Map.copyOf(builder.basePrices);
+        this.leadTimeTiers = List.copyOf(builder.leadTimeTiers);
+        this.demandTiers = List.copyOf(builder.demandTiers);
+        this.minimumPrice = builder.minimumPrice;
+    }
+
+    public int getBasePrice(SeatCategory seatCategory) {
+        return basePrices.get(seatCategory);
+    }
+
+    public List<LeadTimeTier> getLeadTimeTiers() {
+        return leadTimeTiers;
+    }
+
+    public List<DemandTier> getDemandTiers() {
+        return demandTiers;
+    }
+
+    public int getMinimumPrice() {
+        return minimumPrice;
+    }
+
+    // Applies while the show starts at least minLeadTime from now
+    public record LeadTimeTier(Duration minLeadTime, double multiplier) {
+    }
+
+    // Applies once at least minSellThrough (0-1) of the category's seats are locked or booked
+    public record DemandTier(double minSellThrough, double multiplier) {
+    }
+
+    public static class Builder {
+        private final Map<SeatCategory, Integer> basePrices = new EnumMap<>(SeatCategory.class);
+        private final List<LeadTimeTier> leadTimeTiers = new ArrayList<>();
+        private final List<DemandTier> demandTiers = new ArrayList<>();
+        private int minimumPrice = 0;
+
+        public Builder basePrice(SeatCategory seatCategory, int price) {
+            basePrices.put(seatCategory, price);
+            return this;
+        }
+
+        public Builder leadTime(Duration minLeadTime, double multiplier) {
+            leadTimeTiers.add(new LeadTimeTier(minLeadTime, multiplier));
+            return this;
+        }
+
+        public Builder demand(double minSellThrough, double multiplier) {
+            demandTiers.add(new DemandTier(minSellThrough, multiplier));
+            return this;
+        }
+
+        public Builder minimumPrice(int minimumPrice) {
+            this.minimumPrice = minimumPrice;
+            return this;
+        }
+
+        public PricingPolicy build() {
+            for (SeatCategory category : SeatCategory.values()) {
+                if (!basePrices.containsKey(category)) {
+                    throw new IllegalArgumentException("No base price defined for " + category);
+                }
+            }
+            return new PricingPolicy(this);
+        }
+    }
+}
@@ -11,7 +11,20 @@ public interface ISeatLockProvider {
 
     }
 
+    // Like lockSeats, but the locks run out at deadlineMillis instead of after the provider's timeout
+    void lockSeatsUntil(Show show, List<Seat> seats, User user, long deadlineMillis) throws Exception;
+
     void unlockSeats(Show show, List<Seat> seat, User user);
+    // Like unlockSeats, but only frees locks taken with lockSeatsUntil(..., deadlineMillis), not a later lock by the same user
+    void unlockSeatsLockedUntil(Show show, List<Seat> seats, User user, long deadlineMillis);
     boolean validateLock(Show show, Seat seat, User user);
+    boolean isLocked(Show show, Seat seat);
+    // Epoch millis at which the user's lock on the seat runs out, or 0 if the user does not hold it
+    long getLockDeadline(Show show, Seat seat, User user);
+    // Turns the user's live locks on all the seats into permanent holds; false (and no change) if any lock is gone
+    boolean commitSeats(Show show, List<Seat> seats, User user);
     List<Seat> getLockedSeats(Show show);
+
+    void addListener(SeatLockListener listener);
+    void removeListener(SeatLockListener listener);
 }
@@ -0,0 +1,70 @@
+package org.example.seats;
+
+// Segment tree over the seats of one row section, tracking the longest run of free seats.
+// Each node keeps the free run touching its left edge, its right edge and the best run inside,
+// so an update and a "first block of n free seats" query are both O(log seats).
+final class RowSegmentTree {
+    private final int size;
+    private final int[] prefix;
+    private final int[] suffix;
+    private final int[] best;
+
+    RowSegmentTree(final int size) {
+        this.size = size;
+        this.prefix = new int[4 * size];
+        this.suffix = new int[4 * size];
+        this.best = new int[4 * size];
+        build(1, 0, size - 1);
+    }
+
+    // Every seat starts free
+    private void build(final int node, final int left, final int right) {
+        final int length = right - left + 1;
+        prefix[node] = suffix[node] = best[node] = length;
+        if (left == right) return;
+        final int mid = (left + right) >>> 1;
+        build(2 * node, left, mid);
+        build(2 * node + 1, mid + 1, right);
+    }
+
+    int longestFreeRun() {
+        return best[1];
+    }
+
+    void set(final int position, final boolean free) {
+        set(1, 0, size - 1, position, free);
+    }
+
+    private void set(final int node, final int left, final int right, final int position, final boolean free) {
+        if (left == right) {
+            prefix[node] = suffix[node] = best[node] = free ? 1 : 0;
+            return;
+        }
+        final int mid = (left + right) >>> 1;
+        if (position <= mid) {
+            set(2 * node, left, mid, position, free);
+        } else {
+            set(2 * node + 1, mid + 1, right, position, free);
+        }
+        final int l = 2 * node;
+        final int r = 2 * node + 1;
+        final int leftLength = mid - left + 1;
+        final int rightLength = right - mid;
+        prefix[node] = prefix[l] == leftLength ? leftLength + prefix[r] : prefix[l];
+        suffix[node] = suffix[r] == rightLength ? rightLength + suffix[l] : suffix[r];
+        best[node] = Math.max(Math.max(best[l], best[r]), suffix[l] + prefix[r]);
+    }
+
+    // Start of the leftmost block of count free seats, or -1 if the section has none
+    int findFirstBlock(final int count) {
+        return best[1] < count ? -1 : find(1, 0, size - 1, count);
+    }
+
+    private int find(final int node, final int left, final int right, final int count) {
+        if (left == right) return left;
+        final int mid = (left + right) >>> 1;
+        if (best[2 * node] >= count) return find(2 * node, left, mid, count);
+        if (suffix[2 * node] + prefix[2 * node + 1] >= count) return mid - suffix[2 * node] + 1;
+        return find(2 * node + 1, mid + 1, right, count);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.seats;
+
+import org.example.models.Seat;
+import org.example.models.Show;
+import org.example.user.User;
+
+import java.util.List;
+
+// Notified after seats of a show are locked or released (unlocked or expired)
+public interface SeatLockListener {
+    void onSeatsLocked(Show show, List<Seat> seats, User user);
+
+    void onSeatsReleased(Show show, List<Seat> seats);
+}
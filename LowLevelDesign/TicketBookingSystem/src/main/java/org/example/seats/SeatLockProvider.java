@@ -5,88 +5,280 @@ import org.example.models.Show;
 import org.example.user.SeatLock;
 import org.example.user.User;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.DelayQueue;
 
-public class SeatLockProvider implements ISeatLockProvider{
+// Seat locks live in a primitive slot array per show and are claimed with CAS, one seat at a time,
+// so concurrent checkouts on the same show never queue behind a shared monitor.
+// Every lock is also queued by deadline; a sweeper frees it when it runs out and tells listeners.
+public class SeatLockProvider implements ISeatLockProvider, AutoCloseable {
 
-    private final Integer lockTimeout;
-    // Stores the locks per show and seat
-    private final Map<Show, Map<Integer, SeatLock>> locks;
+    private final long lockTimeoutMillis;
+    // Lock slots per show ID
+    private final Map<Integer, ShowSeatLocks> locks;
+    // Locks ordered by deadline; unlocked entries stay until their deadline and are skipped then
+    private final DelayQueue<SeatLock> expiryQueue;
+    private final List<SeatLockListener> listeners;
+    private final Thread expirySweeper;
 
     public SeatLockProvider(Integer lockTimeout) {
-        this.lockTimeout = lockTimeout;
-        this.locks = new ConcurrentHashMap<>();;
+        this.lockTimeoutMillis = lockTimeout * 1000L;
+        this.locks = new ConcurrentHashMap<>();
+        this.expiryQueue = new DelayQueue<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.expirySweeper = Thread.ofVirtual().name("seat-lock-expiry").start(this::sweepExpiredLocks);
+    }
+
+    @Override
+    public void addListener(SeatLockListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(SeatLockListener listener) {
+        listeners.remove(listener);
+    }
+
+    private ShowSeatLocks locksFor(final Show show) {
+        return locks.computeIfAbsent(show.getId(), id -> new ShowSeatLocks(show));
+    }
+
+    // Slot indices of the requested seats, de-duplicated and in ascending order so every caller
+    // claims overlapping seats in the same order
+    private int[] slotIndices(final ShowSeatLocks showLocks, final List<Seat> seats) throws Exception {
+        final int[] indices = new int[seats.size()];
+        for (int i = 0; i < indices.length; i++) {
+            final Seat seat = seats.get(i);
+            indices[i] = showLocks.indexOf(seat);
+            if (indices[i] < 0) {
+                throw new Exception("Seat " + seat.getId() + " is not part of show " + showLocks.getShow().getId());
+            }
+        }
+        return Arrays.stream(indices).sorted().distinct().toArray();
     }
 
     @Override
     public void lockSeats(Show show, List<Seat> seat, User user) throws Exception {
-        Map<Integer, SeatLock> seatLocks = locks.computeIfAbsent(show, x -> new ConcurrentHashMap<>());
-
-        synchronized (seatLocks) {
-            for (Seat s : seat) {
-                if (seatLocks.containsKey(s.getId())) {
-                    SeatLock seatLock = seatLocks.get(s.getId());
-                    if (!seatLock.isLockExpired()) {
-                        throw new Exception("Seat" + s.getId() + "already locked by some user");
+        lockSeatsUntil(show, seat, user, System.currentTimeMillis() + lockTimeoutMillis);
+    }
+
+    @Override
+    public void lockSeatsUntil(Show show, List<Seat> seat, User user, long deadlineMillis) throws Exception {
+        if (user.getUserId() > ShowSeatLocks.MAX_OWNER_ID) {
+            throw new Exception("User ID " + user.getUserId() + " cannot hold seat locks");
+        }
+        final ShowSeatLocks showLocks = locksFor(show);
+        final int[] indices = slotIndices(showLocks, seat);
+        final long now = System.currentTimeMillis();
+        final long lock = ShowSeatLocks.pack(user.getUserId(), deadlineMillis);
+
+        for (int i = 0; i < indices.length; i++) {
+            while (true) {
+                final long current = showLocks.get(indices[i]);
+                if (ShowSeatLocks.isHeld(current, now)) {
+                    // Give back the seats claimed so far before failing the whole request
+                    for (int j = 0; j < i; j++) {
+                        showLocks.compareAndSet(indices[j], lock, ShowSeatLocks.FREE);
                     }
+                    final int seatId = showLocks.seatAt(indices[i]).getId();
+                    throw new Exception(current == ShowSeatLocks.BOOKED
+                            ? "Seat " + seatId + " already booked"
+                            : "Seat " + seatId + " already locked by some user");
+                }
+                // Free or expired: take it over, retry if someone else changed it meanwhile
+                if (showLocks.compareAndSet(indices[i], current, lock)) {
+                    break;
                 }
-            };
-
-            // now add seats in above seat lock
-            Date now = new Date();
-            for (Seat s : seat) {
-                SeatLock sLock = new SeatLock(s, show, user, lockTimeout, now);
-                seatLocks.put(s.getId(), sLock);
             }
         }
+
+        final List<Seat> lockedSeats = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            final Seat lockedSeat = showLocks.seatAt(index);
+            lockedSeats.add(lockedSeat);
+            expiryQueue.add(SeatLock.until(lockedSeat, show, user, now, deadlineMillis));
+        }
+        for (SeatLockListener listener : listeners) {
+            listener.onSeatsLocked(show, lockedSeats, user);
+        }
     }
 
 
     @Override
     public void unlockSeats(Show show, List<Seat> seats, User user) {
-        Map<Integer, SeatLock> seatLocks = locks.get(show);
-        if (seatLocks == null)
+        final ShowSeatLocks showLocks = locks.get(show.getId());
+        if (showLocks == null)
             return;
 
-        synchronized (seatLocks) {
-            for (Seat seat : seats) {
-                SeatLock lock = seatLocks.get(seat.getId());
-                if (lock != null && lock.getLockedBy().equals(user)) {
-                    seatLocks.remove(seat.getId());
-                }
+        final List<Seat> released = new ArrayList<>();
+        for (Seat seat : seats) {
+            final int index = showLocks.indexOf(seat);
+            if (index < 0) continue;
+            final long current = showLocks.get(index);
+            if (current != ShowSeatLocks.FREE && current != ShowSeatLocks.BOOKED && ShowSeatLocks.owner(current) == user.getUserId()
+                    && showLocks.compareAndSet(index, current, ShowSeatLocks.FREE)) {
+                released.add(seat);
+            }
+        }
+        fireReleased(show, released);
+    }
+
+    @Override
+    public void unlockSeatsLockedUntil(Show show, List<Seat> seats, User user, long deadlineMillis) {
+        final ShowSeatLocks showLocks = locks.get(show.getId());
+        if (showLocks == null)
+            return;
+
+        // Same check as the expiry sweeper: the slot must still hold this exact lock
+        final long held = ShowSeatLocks.pack(user.getUserId(), deadlineMillis);
+        final List<Seat> released = new ArrayList<>();
+        for (Seat seat : seats) {
+            final int index = showLocks.indexOf(seat);
+            if (index >= 0 && showLocks.compareAndSet(index, held, ShowSeatLocks.FREE)) {
+                released.add(seat);
             }
         }
+        fireReleased(show, released);
     }
 
     @Override
     public boolean validateLock(Show show, Seat seat, User user) {
-        Map<Integer, SeatLock> seatLocks = locks.get(show);
-        if (seatLocks == null)
+        final ShowSeatLocks showLocks = locks.get(show.getId());
+        if (showLocks == null)
+            return false;
+        final int index = showLocks.indexOf(seat);
+        if (index < 0)
+            return false;
+        final long current = showLocks.get(index);
+        return ShowSeatLocks.isHeld(current, System.currentTimeMillis())
+                && ShowSeatLocks.owner(current) == user.getUserId();
+    }
+
+    @Override
+    public long getLockDeadline(Show show, Seat seat, User user) {
+        final ShowSeatLocks showLocks = locks.get(show.getId());
+        final int index = showLocks == null ? -1 : showLocks.indexOf(seat);
+        if (index < 0)
+            return 0;
+        final long current = showLocks.get(index);
+        return ShowSeatLocks.isLocked(current, System.currentTimeMillis()) && ShowSeatLocks.owner(current) == user.getUserId()
+                ? ShowSeatLocks.deadline(current) : 0;
+    }
+
+    @Override
+    public boolean isLocked(Show show, Seat seat) {
+        final ShowSeatLocks showLocks = locks.get(show.getId());
+        if (showLocks == null)
+            return false;
+        final int index = showLocks.indexOf(seat);
+        return index >= 0 && ShowSeatLocks.isLocked(showLocks.get(index), System.currentTimeMillis());
+    }
+
+    @Override
+    public boolean commitSeats(Show show, List<Seat> seats, User user) {
+        final ShowSeatLocks showLocks = locks.get(show.getId());
+        if (showLocks == null)
             return false;
-        synchronized (seatLocks) {
-            SeatLock lock = seatLocks.get(seat.getId());
-            return lock != null && !lock.isLockExpired()
-                    && lock.getLockedBy().equals(user);
+        final int[] indices;
+        try {
+            indices = slotIndices(showLocks, seats);
+        } catch (Exception e) {
+            return false;
+        }
+        final long now = System.currentTimeMillis();
+        final long[] held = new long[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            held[i] = showLocks.get(indices[i]);
+            // The CAS fails if the sweeper expires the lock after this check, so an expired lock is never committed
+            if (!ShowSeatLocks.isLocked(held[i], now) || ShowSeatLocks.owner(held[i]) != user.getUserId()
+                    || !showLocks.compareAndSet(indices[i], held[i], ShowSeatLocks.BOOKED)) {
+                final List<Seat> expired = new ArrayList<>();
+                for (int j = 0; j < i; j++) {
+                    showLocks.compareAndSet(indices[j], ShowSeatLocks.BOOKED, held[j]);
+                    // The sweeper skipped this lock while it was committed; free it here if it has run out since
+                    if (!ShowSeatLocks.isHeld(held[j], System.currentTimeMillis())
+                            && showLocks.compareAndSet(indices[j], held[j], ShowSeatLocks.FREE)) {
+                        expired.add(showLocks.seatAt(indices[j]));
+                    }
+                }
+                fireReleased(show, expired);
+                return false;
+            }
         }
+        return true;
     }
 
     @Override
     public List<Seat> getLockedSeats(Show show) {
-        Map<Integer, SeatLock> seatLocks = locks.get(show);
-        if (seatLocks == null) {
+        final ShowSeatLocks showLocks = locks.get(show.getId());
+        if (showLocks == null) {
             return Collections.emptyList();
         }
-        synchronized (seatLocks) {
-            return seatLocks.entrySet()
-                    .stream()
-                    .filter(entry -> !entry.getValue().isLockExpired())
-                    .map(entry -> entry.getValue().getSeat())
-                    .collect(Collectors.toList());
+        final long now = System.currentTimeMillis();
+        final List<Seat> lockedSeats = new ArrayList<>();
+        for (int i = 0; i < showLocks.size(); i++) {
+            if (ShowSeatLocks.isLocked(showLocks.get(i), now)) {
+                lockedSeats.add(showLocks.seatAt(i));
+            }
+        }
+        return lockedSeats;
+    }
+
+    // A failing listener is reported and skipped so the others (and the sweeper calling this) carry on
+    private void fireReleased(final Show show, final List<Seat> released) {
+        if (released.isEmpty()) return;
+        for (SeatLockListener listener : listeners) {
+            try {
+                listener.onSeatsReleased(show, released);
+            } catch (RuntimeException e) {
+                System.err.println("Seat lock listener failed on release for show " + show.getId() + ": " + e);
+            }
+        }
+    }
+
+    private void sweepExpiredLocks() {
+        final List<SeatLock> expired = new ArrayList<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                expired.add(expiryQueue.take());
+                expiryQueue.drainTo(expired); // everything else already past its deadline
+                try {
+                    releaseExpired(expired);
+                } catch (RuntimeException e) {
+                    // Keep sweeping; a lock left behind here is still refused by isLocked once it has run out
+                    System.err.println("Seat lock sweep failed: " + e);
+                } finally {
+                    expired.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void releaseExpired(final List<SeatLock> expired) {
+        final Map<Show, List<Seat>> releasedByShow = new LinkedHashMap<>();
+        for (SeatLock seatLock : expired) {
+            final ShowSeatLocks showLocks = locks.get(seatLock.getShow().getId());
+            final int index = showLocks.indexOf(seatLock.getSeat());
+            // Only free the slot if it still holds this exact lock (not unlocked, re-locked or committed since)
+            final long held = ShowSeatLocks.pack(seatLock.getLockedBy().getUserId(), seatLock.getExpiresAtMillis());
+            if (showLocks.compareAndSet(index, held, ShowSeatLocks.FREE)) {
+                releasedByShow.computeIfAbsent(seatLock.getShow(), show -> new ArrayList<>()).add(seatLock.getSeat());
+            }
         }
+        releasedByShow.forEach(this::fireReleased);
+    }
+
+    @Override
+    public void close() {
+        expirySweeper.interrupt();
     }
 }
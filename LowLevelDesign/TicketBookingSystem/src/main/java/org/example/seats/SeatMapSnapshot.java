@@ -0,0 +1,5 @@
+package org.example.seats;
+
+// Seat states of a show as of version; apply updates with a higher version on top of it
+public record SeatMapSnapshot(int showId, long version, SeatStateMap states) {
+}
@@ -0,0 +1,7 @@
+package org.example.seats;
+
+// Receives a show's coalesced seat map changes. Called on the feed's publishing thread, so
+// implementations should hand the update off rather than block.
+public interface SeatMapSubscriber {
+    void onSeatMapUpdate(SeatMapUpdate update);
+}
@@ -0,0 +1,42 @@
+package org.example.seats;
+
+import org.example.enums.SeatState;
+
+// Seats of one show that changed since the previous version, each packed as (seat index << 2 | state).
+// States are absolute, so seeing a seat again (e.g. after a snapshot taken mid-batch) is harmless.
+// One instance is shared by every subscriber of the show.
+public final class SeatMapUpdate {
+    private static final SeatState[] STATES = SeatState.values();
+
+    private final int showId;
+    private final long version;
+    private final int[] changes;
+
+    SeatMapUpdate(final int showId, final long version, final int[] changes) {
+        this.showId = showId;
+        this.version = version;
+        this.changes = changes;
+    }
+
+    public int getShowId() {
+        return showId;
+    }
+
+    // Increases by one per update, starting from the snapshot version
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return changes.length;
+    }
+
+    // Position of the i-th changed seat in its screen
+    public int seatIndex(final int i) {
+        return changes[i] >>> 2;
+    }
+
+    public SeatState state(final int i) {
+        return STATES[changes[i] & 3];
+    }
+}
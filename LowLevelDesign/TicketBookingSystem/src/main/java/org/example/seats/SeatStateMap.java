@@ -0,0 +1,106 @@
+package org.example.seats;
+
+import org.example.enums.SeatState;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+// State of every seat of one show, two bits per seat (32 seats per word) indexed by the seat's
+// position in its screen. Word-level CAS keeps concurrent updates to neighbouring seats safe,
+// and scans pick out all seats in a state with a few bit operations per 32 seats.
+public final class SeatStateMap {
+    private static final int SEATS_PER_WORD = 32;
+    private static final long LOW_BITS = 0x5555555555555555L; // low bit of every 2-bit field
+    private static final SeatState[] STATES = SeatState.values();
+
+    private final int size;
+    private final AtomicLongArray words;
+
+    public SeatStateMap(final int size) {
+        this.size = size;
+        this.words = new AtomicLongArray((size + SEATS_PER_WORD - 1) / SEATS_PER_WORD);
+    }
+
+    // Point-in-time copy; words are copied one by one, so concurrent changes may be partly included
+    public SeatStateMap copy() {
+        final SeatStateMap copy = new SeatStateMap(size);
+        for (int word = 0; word < words.length(); word++) {
+            copy.words.set(word, words.get(word));
+        }
+        return copy;
+    }
+
+    private static int shift(final int index) {
+        return (index & (SEATS_PER_WORD - 1)) << 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public SeatState get(final int index) {
+        return STATES[(int) (words.get(index >>> 5) >>> shift(index)) & 3];
+    }
+
+    public boolean compareAndSet(final int index, final SeatState expected, final SeatState next) {
+        final int word = index >>> 5;
+        final int shift = shift(index);
+        while (true) {
+            final long current = words.get(word);
+            if (((current >>> shift) & 3) != expected.ordinal()) {
+                return false;
+            }
+            final long updated = (current & ~(3L << shift)) | ((long) next.ordinal() << shift);
+            if (words.compareAndSet(word, current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    public void set(final int index, final SeatState next) {
+        getAndSet(index, next);
+    }
+
+    // Returns the state the seat had before
+    public SeatState getAndSet(final int index, final SeatState next) {
+        final int word = index >>> 5;
+        final int shift = shift(index);
+        while (true) {
+            final long current = words.get(word);
+            final long updated = (current & ~(3L << shift)) | ((long) next.ordinal() << shift);
+            if (words.compareAndSet(word, current, updated)) {
+                return STATES[(int) (current >>> shift) & 3];
+            }
+        }
+    }
+
+    // Bit mask with the low bit of each 2-bit field set where that seat is in the given state
+    private long matching(final int word, final SeatState state) {
+        final long bits = words.get(word);
+        final long matches = switch (state) {
+            case FREE -> ~(bits | (bits >>> 1));
+            case LOCKED -> bits & ~(bits >>> 1);
+            case BOOKED -> (bits >>> 1) & ~bits;
+        } & LOW_BITS;
+        final int seatsInWord = Math.min(SEATS_PER_WORD, size - word * SEATS_PER_WORD);
+        return seatsInWord == SEATS_PER_WORD ? matches : matches & ((1L << (seatsInWord << 1)) - 1);
+    }
+
+    public void forEach(final SeatState state, final IntConsumer action) {
+        for (int word = 0; word < words.length(); word++) {
+            long matches = matching(word, state);
+            while (matches != 0) {
+                action.accept(word * SEATS_PER_WORD + (Long.numberOfTrailingZeros(matches) >>> 1));
+                matches &= matches - 1;
+            }
+        }
+    }
+
+    public int count(final SeatState state) {
+        int count = 0;
+        for (int word = 0; word < words.length(); word++) {
+            count += Long.bitCount(matching(word, state));
+        }
+        return count;
+    }
+}
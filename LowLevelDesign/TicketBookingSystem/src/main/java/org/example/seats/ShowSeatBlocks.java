@@ -0,0 +1,116 @@
+package org.example.seats;
+
+import org.example.enums.SeatCategory;
+import org.example.enums.SeatState;
+import org.example.models.Seat;
+import org.example.models.Show;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Best-available search for one show. The screen is cut into sections: consecutive seats of the
+// same row and category. Each section keeps a segment tree of its free seats, so finding n seats
+// together costs O(log seats) per section and sections that cannot fit the group are skipped in O(1).
+public final class ShowSeatBlocks {
+    private final Show show;
+    private final SeatStateMap states;
+    private final Section[] sectionBySeat;      // seat index -> its section
+    private final int[] positionBySeat;         // seat index -> position inside its section
+    private final Map<SeatCategory, List<Section>> sectionsByPreference;
+
+    private static final class Section {
+        final int row;
+        final int firstSeatIndex;
+        final RowSegmentTree tree;
+        final boolean[] free;
+
+        Section(final int row, final int firstSeatIndex, final int size) {
+            this.row = row;
+            this.firstSeatIndex = firstSeatIndex;
+            this.tree = new RowSegmentTree(size);
+            this.free = new boolean[size];
+            Arrays.fill(free, true);
+        }
+    }
+
+    public ShowSeatBlocks(final Show show, final SeatStateMap states) {
+        this.show = show;
+        this.states = states;
+        final List<Seat> seats = show.getScreen().getSeats();
+        this.sectionBySeat = new Section[seats.size()];
+        this.positionBySeat = new int[seats.size()];
+        this.sectionsByPreference = new EnumMap<>(SeatCategory.class);
+
+        final Map<SeatCategory, List<Section>> sections = new EnumMap<>(SeatCategory.class);
+        int start = 0;
+        while (start < seats.size()) {
+            final Seat first = seats.get(start);
+            int end = start + 1;
+            while (end < seats.size() && seats.get(end).getRow() == first.getRow()
+                    && seats.get(end).getSeatCategory() == first.getSeatCategory()) {
+                end++;
+            }
+            final Section section = new Section(first.getRow(), start, end - start);
+            for (int index = start; index < end; index++) {
+                sectionBySeat[index] = section;
+                positionBySeat[index] = index - start;
+            }
+            sections.computeIfAbsent(first.getSeatCategory(), category -> new ArrayList<>()).add(section);
+            start = end;
+        }
+        // Within a category the middle row gives the best view; rows further from it come later
+        sections.forEach((category, categorySections) -> {
+            final List<Integer> rows = categorySections.stream().map(s -> s.row).distinct().sorted().toList();
+            final int middleRow = rows.get(rows.size() / 2);
+            final List<Section> ordered = new ArrayList<>(categorySections);
+            ordered.sort(Comparator.comparingInt((Section s) -> Math.abs(s.row - middleRow)).thenComparingInt(s -> s.row));
+            sectionsByPreference.put(category, List.copyOf(ordered));
+        });
+        for (int index = 0; index < seats.size(); index++) {
+            refresh(index);
+        }
+    }
+
+    // Re-reads the seat's state from the state map; the last refresh of a seat always wins
+    public void refresh(final int seatIndex) {
+        final Section section = sectionBySeat[seatIndex];
+        final int position = positionBySeat[seatIndex];
+        synchronized (section) {
+            final boolean free = states.get(seatIndex) == SeatState.FREE;
+            if (section.free[position] != free) {
+                section.free[position] = free;
+                section.tree.set(position, free);
+            }
+        }
+    }
+
+    // Best block of count adjacent free seats in the category, or an empty list if none fits.
+    // Result is a suggestion: the seats still have to be locked by the booking.
+    public List<Seat> findBestBlock(final SeatCategory category, final int count) {
+        if (count <= 0) return Collections.emptyList();
+        final List<Seat> seats = show.getScreen().getSeats();
+        for (Section section : sectionsByPreference.getOrDefault(category, Collections.emptyList())) {
+            final int blockStart;
+            synchronized (section) {
+                final int runStart = section.tree.findFirstBlock(count);
+                if (runStart < 0) continue;
+                // Slide the block along its free run towards the centre of the section
+                int runEnd = runStart;
+                while (runEnd < section.free.length && section.free[runEnd]) runEnd++;
+                final int centred = (section.free.length - count) / 2;
+                blockStart = Math.max(runStart, Math.min(centred, runEnd - count));
+            }
+            final List<Seat> block = new ArrayList<>(count);
+            for (int position = blockStart; position < blockStart + count; position++) {
+                block.add(seats.get(section.firstSeatIndex + position));
+            }
+            return block;
+        }
+        return Collections.emptyList();
+    }
+}
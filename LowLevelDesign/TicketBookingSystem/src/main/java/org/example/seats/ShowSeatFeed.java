@@ -0,0 +1,88 @@
+package org.example.seats;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+// Change feed for one show's SeatStateMap. Writers only set a dirty bit per seat, so a seat that
+// changes several times between publishes is sent once with its latest state. publish() turns the
+// dirty bits into one versioned SeatMapUpdate shared by all subscribers.
+public final class ShowSeatFeed {
+    private final int showId;
+    private final SeatStateMap states;
+    private final AtomicLongArray dirty;
+    // Set while the feed waits in the publisher's queue, so it is queued at most once
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Consumer<ShowSeatFeed> scheduler;
+    private final List<SeatMapSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private long version; // guarded by this
+
+    public ShowSeatFeed(final int showId, final SeatStateMap states, final Consumer<ShowSeatFeed> scheduler) {
+        this.showId = showId;
+        this.states = states;
+        this.dirty = new AtomicLongArray((states.size() + 63) >>> 6);
+        this.scheduler = scheduler;
+    }
+
+    // Called after the seat's state changed; cheap enough for the booking path
+    public void markChanged(final int index) {
+        final long bit = 1L << index;
+        if ((dirty.get(index >>> 6) & bit) == 0) {
+            dirty.getAndAccumulate(index >>> 6, bit, (word, b) -> word | b);
+        }
+        if (!subscribers.isEmpty() && !scheduled.get() && scheduled.compareAndSet(false, true)) {
+            scheduler.accept(this);
+        }
+    }
+
+    // Registers the subscriber and returns the state it should start from
+    public synchronized SeatMapSnapshot subscribe(final SeatMapSubscriber subscriber) {
+        subscribers.add(subscriber);
+        return new SeatMapSnapshot(showId, version, states.copy());
+    }
+
+    public void unsubscribe(final SeatMapSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Collects the dirty seats into the next version and delivers it; returns null if nothing changed
+    public SeatMapUpdate publish() {
+        scheduled.set(false);
+        final SeatMapUpdate update;
+        final Object[] targets;
+        synchronized (this) {
+            int[] changes = new int[16];
+            int count = 0;
+            for (int word = 0; word < dirty.length(); word++) {
+                if (dirty.get(word) == 0) continue;
+                long bits = dirty.getAndSet(word, 0);
+                while (bits != 0) {
+                    final int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    if (count == changes.length) changes = Arrays.copyOf(changes, count * 2);
+                    // Read after clearing the bit: a later change sets it again and is sent next time
+                    changes[count++] = index << 2 | states.get(index).ordinal();
+                    bits &= bits - 1;
+                }
+            }
+            if (count == 0) return null;
+            update = new SeatMapUpdate(showId, ++version, Arrays.copyOf(changes, count));
+            // Subscribers that joined after this point got a snapshot that already covers the update
+            targets = subscribers.toArray();
+        }
+        for (Object target : targets) {
+            try {
+                ((SeatMapSubscriber) target).onSeatMapUpdate(update);
+            } catch (RuntimeException e) {
+                System.out.println("Seat map subscriber failed for show " + showId + ": " + e.getMessage());
+            }
+        }
+        return update;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.seats;
+
+import org.example.models.Seat;
+import org.example.models.Show;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock slots for one show, one per seat of its screen (indexed by the seat's position in the screen).
+// The screen's layout is sealed before a show exists on it, so the slot count never falls behind it.
+// A slot is 0 when free, otherwise the owner's user id in the top 24 bits and the lock deadline
+// (milliseconds since EPOCH_MILLIS) in the low 40 bits, so a whole lock is claimed with one CAS.
+final class ShowSeatLocks {
+    static final long FREE = 0L;
+    static final long EPOCH_MILLIS = 1735689600000L; // 2025-01-01T00:00:00Z
+    private static final int DEADLINE_BITS = 40;
+    private static final long DEADLINE_MASK = (1L << DEADLINE_BITS) - 1;
+    // Highest owner id is reserved: a slot of all ones marks a seat committed to a booking, held forever
+    static final int MAX_OWNER_ID = (1 << (Long.SIZE - DEADLINE_BITS)) - 2;
+    static final long BOOKED = -1L;
+
+    private final Show show;
+    private final List<Seat> seats;
+    private final AtomicLongArray slots;
+
+    ShowSeatLocks(final Show show) {
+        this.show = show;
+        this.seats = List.copyOf(show.getScreen().getSeats());
+        this.slots = new AtomicLongArray(seats.size());
+    }
+
+    static long pack(final int ownerId, final long deadlineMillis) {
+        return ((long) ownerId << DEADLINE_BITS) | ((deadlineMillis - EPOCH_MILLIS) & DEADLINE_MASK);
+    }
+
+    static int owner(final long slot) {
+        return (int) (slot >>> DEADLINE_BITS);
+    }
+
+    static long deadline(final long slot) {
+        return (slot & DEADLINE_MASK) + EPOCH_MILLIS;
+    }
+
+    static boolean isHeld(final long slot, final long nowMillis) {
+        return slot != FREE && deadline(slot) > nowMillis;
+    }
+
+    // Held by a user's temporary lock, not committed to a booking
+    static boolean isLocked(final long slot, final long nowMillis) {
+        return slot != BOOKED && isHeld(slot, nowMillis);
+    }
+
+    Show getShow() {
+        return show;
+    }
+
+    int size() {
+        return seats.size();
+    }
+
+    Seat seatAt(final int index) {
+        return seats.get(index);
+    }
+
+    // Slot index for the seat, or -1 if the seat is not part of this show's screen
+    int indexOf(final Seat seat) {
+        final int index = show.getScreen().getSeatIndex(seat);
+        return index < slots.length() ? index : -1;
+    }
+
+    long get(final int index) {
+        return slots.get(index);
+    }
+
+    boolean compareAndSet(final int index, final long expected, final long value) {
+        return slots.compareAndSet(index, expected, value);
+    }
+}
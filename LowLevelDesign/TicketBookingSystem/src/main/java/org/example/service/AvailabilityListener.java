@@ -0,0 +1,9 @@
+package org.example.service;
+
+import org.example.enums.SeatCategory;
+import org.example.models.Show;
+
+// Notified by SeatAvailabilityService after seats of a category were taken (locked or booked) or freed
+public interface AvailabilityListener {
+    void onAvailabilityChanged(Show show, SeatCategory category);
+}
@@ -0,0 +1,74 @@
+package org.example.service;
+
+import org.example.models.Seat;
+import org.example.models.Show;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// One bit per seat of a show's screen, set while the seat belongs to a confirmed booking.
+// Seats of a booking are claimed all-or-nothing, so two confirmations can never share a seat.
+final class BookedSeats {
+    private final Show show;
+    private final AtomicLongArray bits;
+
+    BookedSeats(final Show show) {
+        this.show = show;
+        this.bits = new AtomicLongArray((show.getScreen().getSeats().size() + 63) >>> 6);
+    }
+
+    private int indexOf(final Seat seat) {
+        final int index = show.getScreen().getSeatIndex(seat);
+        if (index < 0 || index >= bits.length() << 6) {
+            throw new IllegalArgumentException("Seat " + seat.getId() + " is not part of show " + show.getId());
+        }
+        return index;
+    }
+
+    boolean isBooked(final Seat seat) {
+        final int index = indexOf(seat);
+        return (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    boolean isAnyBooked(final List<Seat> seats) {
+        for (Seat seat : seats) {
+            if (isBooked(seat)) return true;
+        }
+        return false;
+    }
+
+    // Sets the bit of every seat, or none of them if one is already booked
+    boolean tryBook(final List<Seat> requestedSeats) {
+        final List<Seat> seats = requestedSeats.stream().distinct().toList();
+        for (int i = 0; i < seats.size(); i++) {
+            final int index = indexOf(seats.get(i));
+            final long bit = 1L << index;
+            if ((bits.getAndAccumulate(index >>> 6, bit, (word, b) -> word | b) & bit) != 0) {
+                release(seats.subList(0, i));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void release(final List<Seat> seats) {
+        for (Seat seat : seats) {
+            final int index = indexOf(seat);
+            bits.accumulateAndGet(index >>> 6, ~(1L << index), (word, mask) -> word & mask);
+        }
+    }
+
+    List<Seat> getBookedSeats() {
+        final List<Seat> allSeats = show.getScreen().getSeats();
+        final List<Seat> bookedSeats = new ArrayList<>();
+        for (int word = 0; word < bits.length(); word++) {
+            long booked = bits.get(word);
+            while (booked != 0) {
+                bookedSeats.add(allSeats.get((word << 6) + Long.numberOfTrailingZeros(booked)));
+                booked &= booked - 1;
+            }
+        }
+        return bookedSeats;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.service;
+
+import org.example.models.Booking;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// A CREATED booking queued until its seat hold runs out
+final class BookingHold implements Delayed {
+    private final Booking booking;
+    private final long deadlineMillis;
+
+    BookingHold(final Booking booking, final long deadlineMillis) {
+        this.booking = booking;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    Booking getBooking() {
+        return booking;
+    }
+
+    long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    @Override
+    public long getDelay(final TimeUnit unit) {
+        return unit.convert(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(final Delayed other) {
+        if (other instanceof BookingHold hold) {
+            return Long.compare(deadlineMillis, hold.deadlineMillis);
+        }
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.service;
+
+import org.example.models.Booking;
+
+import java.util.concurrent.CompletableFuture;
+
+// Notified by BookingService after a booking changes state
+public interface BookingListener {
+    default void onBookingCreated(Booking booking) {
+    }
+
+    void onBookingConfirmed(Booking booking);
+
+    // What BookingService calls on confirmation. Listeners that persist bookings return a future completed
+    // once the confirmation is durable, and confirmBooking only returns after it; null means nothing to wait for.
+    default CompletableFuture<Void> onBookingConfirmedDurably(Booking booking) {
+        onBookingConfirmed(booking);
+        return null;
+    }
+
+    default void onBookingExpired(Booking booking) {
+    }
+}
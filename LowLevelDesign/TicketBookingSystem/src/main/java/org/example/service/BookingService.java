@@ -1,49 +1,147 @@
 package org.example.service;
+import org.example.admission.WaitingRoomService;
+import org.example.enums.BookingStatus;
 import org.example.models.Booking;
 import org.example.seats.ISeatLockProvider;
 import org.example.models.Seat;
 import org.example.models.Show;
 import org.example.user.User;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
-public class BookingService {
+// Every state change of a show's bookings (create, confirm, expire) runs on that show's ShowBookingEngine,
+// so the booked check, seat locking and booking creation happen as one step per show.
+// Bookings still CREATED when their seat hold runs out are expired by a sweeper and moved out of
+// the live maps into the archive, so the live maps only hold bookings that can still matter.
+public class BookingService implements AutoCloseable {
     // Stores all bookings made across shows (key = booking ID)
     // Changed to a thread-safe concurrent map.
     private final Map<String, Booking> showBookings;
+    // Secondary indexes so per-show and per-user lookups never scan every booking
+    private final Map<Integer, Set<Booking>> bookingsByShow;   // key = show ID
+    private final Map<Integer, Set<Booking>> bookingsByUser;   // key = user ID
+    private final Map<Integer, BookedSeats> bookedSeatsByShow; // key = show ID
+    // Expired bookings, kept for lookups by ID only (key = booking ID)
+    private final Map<String, Booking> archivedBookings;
+    // CREATED bookings ordered by seat hold deadline
+    private final DelayQueue<BookingHold> holds;
+    private final Thread expirySweeper;
+    // Single-writer booking engine per show ID, present only while the show has commands to run
+    private final Map<Integer, ShowBookingEngine> engines;
+    // Runs the engines' drain tasks
+    private final ExecutorService engineExecutor;
     // Provider responsible for handling temporary seat locks
     private final ISeatLockProvider seatLockProvider;
+    // Admission control for shows with a waiting room
+    private final WaitingRoomService waitingRoomService;
     // Atomic integer to generate unique booking IDs
     private final AtomicInteger bookingIdCounter = new AtomicInteger(1);
+    private static final long RESTORE_COMMIT_MILLIS = 60_000;
+    // Notified when a booking changes state
+    private final List<BookingListener> listeners = new CopyOnWriteArrayList<>();
     // Constructor to initialize dependencies
     public BookingService(ISeatLockProvider seatLockProvider) {
+        this(seatLockProvider, new WaitingRoomService());
+    }
+
+    public BookingService(ISeatLockProvider seatLockProvider, WaitingRoomService waitingRoomService) {
         this.seatLockProvider = seatLockProvider;
+        this.waitingRoomService = waitingRoomService;
         this.showBookings = new ConcurrentHashMap<>();
+        this.bookingsByShow = new ConcurrentHashMap<>();
+        this.bookingsByUser = new ConcurrentHashMap<>();
+        this.bookedSeatsByShow = new ConcurrentHashMap<>();
+        this.engines = new ConcurrentHashMap<>();
+        this.engineExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("show-bookings-", 0).factory());
+        this.archivedBookings = new ConcurrentHashMap<>();
+        this.holds = new DelayQueue<>();
+        this.expirySweeper = Thread.ofVirtual().name("booking-expiry").start(this::sweepExpiredBookings);
+    }
+
+    // Runs the command on the show's engine. Enqueueing happens inside compute, as does retiring an
+    // idle engine, so a command never lands on an engine that has just been removed.
+    private <T> CompletableFuture<T> submitToEngine(final Show show, final Callable<T> command) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        engines.compute(show.getId(), (id, engine) -> {
+            final ShowBookingEngine target = engine != null ? engine : new ShowBookingEngine(engineExecutor, () -> retireEngine(id));
+            target.enqueue(command, result);
+            return target;
+        });
+        return result;
+    }
+
+    private <T> T executeOnEngine(final Show show, final Callable<T> command) throws Exception {
+        return ShowBookingEngine.await(submitToEngine(show, command));
+    }
+
+    private void retireEngine(final int showId) {
+        engines.computeIfPresent(showId, (id, engine) -> engine.isIdle() ? null : engine);
+    }
+
+    public void addListener(final BookingListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final BookingListener listener) {
+        listeners.remove(listener);
     }
 
     public Booking getBooking(final String bookingId) throws Exception {
-        if (!showBookings.containsKey(bookingId)) {
+        Booking booking = showBookings.get(bookingId);
+        if (booking == null) {
+            booking = archivedBookings.get(bookingId);
+        }
+        if (booking == null) {
             throw new Exception("No Booking exists for the ID : " + bookingId);
         }
-        return showBookings.get(bookingId);
+        return booking;
+    }
+
+    public int getLiveBookingCount() {
+        return showBookings.size();
+    }
+
+    public List<Booking> getLiveBookings() {
+        return new ArrayList<>(showBookings.values());
     }
 
     public List<Booking> getAllBookings(final Show show) {
-        List<Booking> response = new ArrayList<>();
-        for (Booking booking : showBookings.values()) {
-            if (booking.getShow().equals(show)) {
-                response.add(booking);
-            }
-        }
-        return response;
+        final Set<Booking> bookings = bookingsByShow.get(show.getId());
+        return bookings == null ? new ArrayList<>() : new ArrayList<>(bookings);
+    }
+
+    public List<Booking> getBookingsForUser(final User user) {
+        final Set<Booking> bookings = bookingsByUser.get(user.getUserId());
+        return bookings == null ? Collections.emptyList() : new ArrayList<>(bookings);
+    }
+
+    private BookedSeats bookedSeatsFor(final Show show) {
+        return bookedSeatsByShow.computeIfAbsent(show.getId(), id -> new BookedSeats(show));
     }
 
     public Booking createBooking(final User user, final Show show, final List<Seat> seats) throws Exception {
+        return createBooking(user, show, seats, null);
+    }
+
+    // Shows with a waiting room only take bookings from admitted tokens; others ignore the token
+    public Booking createBooking(final User user, final Show show, final List<Seat> seats, final Long admissionTokenId) throws Exception {
+        // Rejected before reaching the show's engine, so only admitted users add load there
+        waitingRoomService.validate(show, user, admissionTokenId);
+        return executeOnEngine(show, () -> createBookingOnEngine(user, show, seats));
+    }
+
+    private Booking createBookingOnEngine(final User user, final Show show, final List<Seat> seats) throws Exception {
         // Check if any requested seat is already booked
         if (isAnySeatAlreadyBooked(show, seats)) throw new Exception("Seat Already Booked");
         // Lock the seats temporarily for the user (this will throw an exception if any seat is already locked)
@@ -51,38 +149,159 @@ public class BookingService {
         // Create a new booking with a unique booking ID using AtomicInteger
         final String bookingId = String.valueOf(bookingIdCounter.getAndIncrement());
         final Booking newBooking = new Booking(bookingId, show, user, seats);
-        // Save the booking
-        showBookings.put(bookingId, newBooking);
+        addLiveBooking(newBooking);
+        // Expire it when the seat hold runs out unless it is confirmed first
+        holds.add(new BookingHold(newBooking, getHoldDeadline(newBooking)));
+        for (BookingListener listener : listeners) {
+            listener.onBookingCreated(newBooking);
+        }
         return newBooking;
     }
 
+    // Save the booking and index it by show and user
+    private void addLiveBooking(final Booking booking) {
+        showBookings.put(booking.getId(), booking);
+        bookingsByShow.computeIfAbsent(booking.getShow().getId(), id -> ConcurrentHashMap.newKeySet()).add(booking);
+        bookingsByUser.computeIfAbsent(booking.getUser().getUserId(), id -> ConcurrentHashMap.newKeySet()).add(booking);
+    }
+
+    // Recreates a booking with its original ID and final status on recovery. Runs on the show's engine,
+    // so bookings of different shows are restored in parallel. A CREATED booking whose hold has already
+    // run out comes back expired; an ID that already exists is left as it is.
+    public CompletableFuture<Booking> restoreBooking(final String bookingId, final Show show, final User user, final List<Seat> seats,
+                                                     final BookingStatus status, final long holdDeadlineMillis) {
+        return submitToEngine(show, () -> restoreBookingOnEngine(bookingId, show, user, seats, status, holdDeadlineMillis));
+    }
+
+    private Booking restoreBookingOnEngine(final String bookingId, final Show show, final User user, final List<Seat> seats,
+                                           final BookingStatus status, final long holdDeadlineMillis) throws Exception {
+        bookingIdCounter.accumulateAndGet(Integer.parseInt(bookingId) + 1, Math::max);
+        final Booking existing = showBookings.getOrDefault(bookingId, archivedBookings.get(bookingId));
+        if (existing != null) return existing;
+        final Booking booking = new Booking(bookingId, show, user, seats);
+        final long now = System.currentTimeMillis();
+        if (status == BookingStatus.EXPIRED || (status == BookingStatus.CREATED && holdDeadlineMillis <= now)) {
+            booking.expireBooking();
+            archivedBookings.put(bookingId, booking);
+            return booking;
+        }
+        // Confirmed seats are committed straight after, so their lock only has to outlive this command
+        final long lockDeadline = status == BookingStatus.CONFIRMED ? now + RESTORE_COMMIT_MILLIS : holdDeadlineMillis;
+        seatLockProvider.lockSeatsUntil(show, seats, user, lockDeadline);
+        addLiveBooking(booking);
+        for (BookingListener listener : listeners) {
+            listener.onBookingCreated(booking);
+        }
+        if (status == BookingStatus.CONFIRMED) {
+            confirmBookingOnEngine(booking, user);
+        } else {
+            holds.add(new BookingHold(booking, holdDeadlineMillis));
+        }
+        return booking;
+    }
+
     public List<Seat> getBookedSeats(final Show show) {
-        return getAllBookings(show).stream()
-                .filter(Booking::isConfirmed)      // Only confirmed bookings
-                .map(Booking::getSeatsBooked)      // Extract booked seats
-                .flatMap(Collection::stream)       // Flatten seat lists
-                .collect(Collectors.toList());
+        final BookedSeats bookedSeats = bookedSeatsByShow.get(show.getId());
+        return bookedSeats == null ? new ArrayList<>() : bookedSeats.getBookedSeats();
     }
 
     public void confirmBooking(final Booking booking, final User user) throws Exception {
         if (!booking.getUser().equals(user)) {
             throw new Exception("Cannot confirm a booking made by another user"); // User mismatch
         }
-        // Validate locks for each seat
-        for (Seat seat : booking.getSeatsBooked()) {
-            if (!seatLockProvider.validateLock(booking.getShow(), seat, user)) {
-                throw new Exception("Acquired Lock is either invalid or has Expired");
-            }
+        // Wait for durability off the engine, so the show's other commands are not held up by the fsync.
+        // If the durable future fails, the confirmation is not reversed: the booking stays CONFIRMED with its
+        // seats, and the exception only reports that it may not survive a restart.
+        final CompletableFuture<Void> durable = executeOnEngine(booking.getShow(), () -> confirmBookingOnEngine(booking, user));
+        ShowBookingEngine.await(durable);
+    }
+
+    // Returns a future completed once every listener has made the confirmation durable
+    private CompletableFuture<Void> confirmBookingOnEngine(final Booking booking, final User user) throws Exception {
+        if (booking.getBookingStatus() != BookingStatus.CREATED) {
+            throw new Exception("Cannot confirm a booking that is not in the Created state.");
+        }
+        // Turn every seat lock into a permanent hold in one step; fails if any lock expired or was lost
+        if (!seatLockProvider.commitSeats(booking.getShow(), booking.getSeatsBooked(), user)) {
+            throw new Exception("Acquired Lock is either invalid or has Expired");
+        }
+        // Record the seats in the show's booked bitmap (cannot clash: the seats were committed above)
+        final BookedSeats bookedSeats = bookedSeatsFor(booking.getShow());
+        if (!bookedSeats.tryBook(booking.getSeatsBooked())) {
+            throw new Exception("Seat Already Booked");
         }
         // Mark booking as confirmed
         booking.confirmBooking();
+        final List<CompletableFuture<Void>> durable = new ArrayList<>(1);
+        for (BookingListener listener : listeners) {
+            final CompletableFuture<Void> persisted = listener.onBookingConfirmedDurably(booking);
+            if (persisted != null) durable.add(persisted);
+        }
+        return durable.isEmpty() ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(durable.toArray(CompletableFuture<?>[]::new));
     }
 
-    private boolean isAnySeatAlreadyBooked(final Show show, final List<Seat> seats) {
-        final List<Seat> bookedSeats = getBookedSeats(show);
-        for (Seat seat : seats) {
-            if (bookedSeats.contains(seat)) return true;
+    private void sweepExpiredBookings() {
+        final List<BookingHold> expired = new ArrayList<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                expired.add(holds.take());
+                holds.drainTo(expired);
+                for (BookingHold hold : expired) {
+                    final Booking booking = hold.getBooking();
+                    // Confirmed bookings are skipped on the engine; only CREATED ones expire
+                    submitToEngine(booking.getShow(), () -> {
+                        expireBookingOnEngine(booking, hold.getDeadlineMillis());
+                        return null;
+                    });
+                }
+                expired.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // holdDeadlineMillis is the deadline the booking's seats were locked until
+    private void expireBookingOnEngine(final Booking booking, final long holdDeadlineMillis) throws Exception {
+        if (booking.getBookingStatus() != BookingStatus.CREATED) return;
+        booking.expireBooking();
+        // Usually already released by the lock sweeper; this covers locks that are still live. Only this
+        // booking's own locks are freed, not a newer booking's locks by the same user on the same seats.
+        seatLockProvider.unlockSeatsLockedUntil(booking.getShow(), booking.getSeatsBooked(), booking.getUser(), holdDeadlineMillis);
+        // Move out of the live maps and indexes
+        final Set<Booking> showIndex = bookingsByShow.get(booking.getShow().getId());
+        if (showIndex != null) showIndex.remove(booking);
+        final Set<Booking> userIndex = bookingsByUser.get(booking.getUser().getUserId());
+        if (userIndex != null) userIndex.remove(booking);
+        archivedBookings.put(booking.getId(), booking);
+        showBookings.remove(booking.getId());
+        for (BookingListener listener : listeners) {
+            listener.onBookingExpired(booking);
+        }
+    }
+
+    // Epoch millis at which the first of the booking's seat locks runs out, or 0 if one is already gone
+    public long getHoldDeadline(final Booking booking) {
+        long deadline = Long.MAX_VALUE;
+        for (Seat seat : booking.getSeatsBooked()) {
+            final long seatDeadline = seatLockProvider.getLockDeadline(booking.getShow(), seat, booking.getUser());
+            if (seatDeadline == 0) return 0;
+            deadline = Math.min(deadline, seatDeadline);
         }
-        return false;
+        return deadline;
+    }
+
+    private boolean isAnySeatAlreadyBooked(final Show show, final List<Seat> seats) {
+        final BookedSeats bookedSeats = bookedSeatsByShow.get(show.getId());
+        return bookedSeats != null && bookedSeats.isAnyBooked(seats);
+    }
+
+    // Stops the expiry sweeper and waits for the commands already queued on the engines;
+    // commands submitted afterwards fail with RejectedExecutionException
+    @Override
+    public void close() {
+        expirySweeper.interrupt();
+        engineExecutor.close();
     }
 }
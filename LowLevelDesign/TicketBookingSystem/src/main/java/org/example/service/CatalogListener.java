@@ -0,0 +1,25 @@
+package org.example.service;
+
+import org.example.models.Movie;
+import org.example.models.Screen;
+import org.example.models.Seat;
+import org.example.models.Show;
+import org.example.models.Theatre;
+
+// Notified after catalog entries are created; implement only the callbacks you need
+public interface CatalogListener {
+    default void onTheatreCreated(Theatre theatre) {
+    }
+
+    default void onScreenCreated(Screen screen) {
+    }
+
+    default void onSeatCreated(Screen screen, Seat seat) {
+    }
+
+    default void onMovieCreated(Movie movie) {
+    }
+
+    default void onShowCreated(Show show) {
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-mostly concurrent map from positive int keys to values, without boxing the keys. Keys are
+ * spread over stripes; each stripe publishes an immutable open-addressing table through a volatile
+ * field, so lookups never lock. Writers lock their stripe, copy its table with the change and
+ * publish the copy, which suits catalog data that is written rarely and read on every request.
+ */
+class IntKeyedConcurrentMap<V> {
+    private static final int STRIPES = 64;
+    private static final int EMPTY = 0;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    IntKeyedConcurrentMap() {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Stripe stripe(int hash) {
+        return stripes[(hash >>> 26) & (STRIPES - 1)];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int hash = mix(key);
+        return (V) stripe(hash).table.get(key, hash);
+    }
+
+    boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    // Stores the value unless the key is present; returns the existing value, or null if it was stored
+    @SuppressWarnings("unchecked")
+    V putIfAbsent(int key, V value) {
+        if (key <= EMPTY) throw new IllegalArgumentException("Keys must be positive: " + key);
+        int hash = mix(key);
+        return (V) stripe(hash).putIfAbsent(key, hash, value);
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) size += stripe.table.size;
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<V> result = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            Table table = stripe.table;
+            for (int i = 0; i < table.keys.length; i++) {
+                if (table.keys[i] != EMPTY) result.add((V) table.values[i]);
+            }
+        }
+        return result;
+    }
+
+    private static final class Table {
+        static final Table EMPTY_TABLE = new Table(new int[16], new Object[16], 0);
+
+        final int[] keys;
+        final Object[] values;
+        final int size;
+
+        Table(int[] keys, Object[] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        Object get(int key, int hash) {
+            int mask = keys.length - 1;
+            for (int i = hash & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return null;
+        }
+
+        // New table with the entry added, growing when it would pass 3/4 full. Only a grow rehashes;
+        // otherwise the arrays are copied as they are and the entry probed into the copy.
+        Table with(int key, int hash, Object value) {
+            if ((size + 1) * 4 <= keys.length * 3) {
+                int[] newKeys = keys.clone();
+                Object[] newValues = values.clone();
+                insert(newKeys, newValues, keys.length - 1, key, hash, value);
+                return new Table(newKeys, newValues, size + 1);
+            }
+            int capacity = keys.length * 2;
+            int[] newKeys = new int[capacity];
+            Object[] newValues = new Object[capacity];
+            int mask = capacity - 1;
+            for (int k = 0; k < keys.length; k++) {
+                if (keys[k] != EMPTY) insert(newKeys, newValues, mask, keys[k], mix(keys[k]), values[k]);
+            }
+            insert(newKeys, newValues, mask, key, hash, value);
+            return new Table(newKeys, newValues, size + 1);
+        }
+
+        private static void insert(int[] keys, Object[] values, int mask, int key, int hash, Object value) {
+            int i = hash & mask;
+            while (keys[i] != EMPTY) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = value;
+        }
+    }
+
+    private static final class Stripe {
+        private volatile Table table = Table.EMPTY_TABLE;
+
+        synchronized Object putIfAbsent(int key, int hash, Object value) {
+            Table current = table;
+            Object existing = current.get(key, hash);
+            if (existing != null) return existing;
+            table = current.with(key, hash, value);
+            return null;
+        }
+    }
+}
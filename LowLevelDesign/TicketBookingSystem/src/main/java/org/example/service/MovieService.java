@@ -2,30 +2,50 @@ package org.example.service;
 
 import org.example.models.Movie;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class MovieService {
-    private final Map<Integer, Movie> movieMap;
+    private final IntKeyedConcurrentMap<Movie> movieMap;
     private final AtomicInteger movieCounter;
+    private final List<CatalogListener> listeners;
 
     public MovieService() {
-        this.movieMap =  new HashMap<>();
+        this.movieMap = new IntKeyedConcurrentMap<>();
         this.movieCounter = new AtomicInteger(0);
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public void addListener(final CatalogListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final CatalogListener listener) {
+        listeners.remove(listener);
     }
 
     public Movie getMovie(final int movieId) throws Exception {
-        if (!movieMap.containsKey(movieId)) {
+        final Movie movie = movieMap.get(movieId);
+        if (movie == null) {
             throw new Exception("Movie with ID " + movieId + " not found.");
         };
-        return movieMap.get(movieId);
+        return movie;
     };
 
     public Movie createMovie(final String movieName, final int durationInMinutes, final String movieCategory) {
         int movieId = movieCounter.incrementAndGet(); // Increment the counter and get the new value.
         Movie movie = new Movie(movieId, movieName, durationInMinutes, movieCategory);
-        movieMap.put(movieId, movie);
+        movieMap.putIfAbsent(movieId, movie);
+        listeners.forEach(listener -> listener.onMovieCreated(movie));
         return movie;
     }
+
+    // Recreates a movie with its original ID on recovery; an existing movie is kept
+    public Movie restoreMovie(final int movieId, final String movieName, final int durationInMinutes, final String movieCategory) {
+        movieCounter.accumulateAndGet(movieId, Math::max);
+        final Movie movie = new Movie(movieId, movieName, durationInMinutes, movieCategory);
+        final Movie existing = movieMap.putIfAbsent(movieId, movie);
+        return existing == null ? movie : existing;
+    }
 }
@@ -1,26 +1,66 @@
 package org.example.service;
 
+import org.example.enums.BookingStatus;
+import org.example.enums.PaymentStatus;
 import org.example.models.Booking;
+import org.example.payment.PaymentResult;
 import org.example.payment.strategy.PaymentStrategy;
 import org.example.user.User;
 
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class PaymentService {
-    // Keeps track of how many times payment has failed for a particular booking.
-    Map<Booking, Integer> bookingFailures;
+// Payments run on virtual threads so a slow provider never holds the caller's thread. Each request
+// carries an idempotency key; repeating a key returns the first outcome, and a booking is never
+// charged by two requests at once or again after it succeeded. Failed charges are retried with
+// exponential backoff for as long as the booking's seat hold leaves time for another attempt.
+// A key is remembered for KEY_RETENTION_MILLIS after its payment finishes and then forgotten once
+// the booking is settled (confirmed or expired), so the maps only hold bookings still in play.
+public class PaymentService implements AutoCloseable {
+    private static final long DEFAULT_BASE_BACKOFF_MILLIS = 200;
+    private static final int DEFAULT_MAX_ATTEMPTS = 5;
+    private static final long KEY_RETENTION_MILLIS = 60_000;
 
+    // Keeps track of how many times payment has failed for a particular booking (key = booking ID).
+    private final Map<String, AtomicInteger> bookingFailures;
+    // Outcome per idempotency key
+    private final Map<String, PaymentRequest> paymentsByKey;
+    // Payment in flight or succeeded per booking ID
+    private final Map<String, CompletableFuture<PaymentResult>> paymentsByBooking;
 
     // The strategy which the user will decide to do the payment
     private final PaymentStrategy paymentStrategy;
-    private BookingService bookingService;
+    private final BookingService bookingService;
+    private final ExecutorService executor;
+    private final long baseBackoffMillis;
+    private final int maxAttempts;
+
+    private record PaymentRequest(String bookingId, CompletableFuture<PaymentResult> result) {
+    }
 
     public PaymentService(
             PaymentStrategy paymentStrategy, BookingService bookingService) {
+        this(paymentStrategy, bookingService, DEFAULT_BASE_BACKOFF_MILLIS, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public PaymentService(PaymentStrategy paymentStrategy, BookingService bookingService,
+                          long baseBackoffMillis, int maxAttempts) {
         this.bookingFailures = new ConcurrentHashMap<>();
+        this.paymentsByKey = new ConcurrentHashMap<>();
+        this.paymentsByBooking = new ConcurrentHashMap<>();
         this.paymentStrategy = paymentStrategy;
         this.bookingService = bookingService;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxAttempts = maxAttempts;
     }
 
     // Called when payment fails for a booking attempt.
@@ -31,24 +71,124 @@ public class PaymentService {
         if (!booking.getUser().equals(user)) {
             throw new Exception("Only the booking owner can report payment failure.");
         }
-        // Initialize failure count for the booking if it's the first failure.
-        if (!bookingFailures.containsKey(booking))
-            bookingFailures.put(booking, 0);
-
-        // Increment failure count.
-        final Integer currentFailuresCount = bookingFailures.get(booking);
-        final Integer newFailuresCount = currentFailuresCount + 1;
-        bookingFailures.put(booking, newFailuresCount);
+        recordFailure(bookingId);
+    }
+
+    private int recordFailure(final String bookingId) {
+        final int failures = bookingFailures.computeIfAbsent(bookingId, id -> new AtomicInteger()).incrementAndGet();
         System.out.println(
                 "Could not process the payment for Booking with ID : " + bookingId);
+        return failures;
     }
 
+    public int getFailureCount(final String bookingId) {
+        final AtomicInteger failures = bookingFailures.get(bookingId);
+        return failures == null ? 0 : failures.get();
+    }
+
+    // Blocking form: waits for the payment under a fresh idempotency key; throws unless it succeeded
     public void processPayment(final String bookingId, final User user)
             throws Exception {
-        if (paymentStrategy.processPayment()) {
-            bookingService.confirmBooking(bookingService.getBooking(bookingId), user);
-        } else {
-            processPaymentFailed(bookingId, user);
+        final PaymentResult result;
+        try {
+            result = processPaymentAsync(bookingId, user, UUID.randomUUID().toString()).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+        if (result.status() != PaymentStatus.SUCCEEDED) {
+            throw new Exception("Payment for Booking with ID " + bookingId + " did not succeed ("
+                    + result.status() + "): " + result.message());
+        }
+    }
+
+    public CompletableFuture<PaymentResult> processPaymentAsync(final String bookingId, final User user,
+                                                                final String idempotencyKey) {
+        final Booking booking;
+        try {
+            booking = bookingService.getBooking(bookingId);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
         }
+        if (!booking.getUser().equals(user)) {
+            return CompletableFuture.failedFuture(new Exception("Only the booking owner can pay for a booking."));
+        }
+        final PaymentRequest request = paymentsByKey.computeIfAbsent(idempotencyKey, key -> {
+            final PaymentRequest created = new PaymentRequest(bookingId, paymentFor(booking, user, key));
+            created.result().whenComplete((result, failure) -> scheduleEviction(booking, key, created));
+            return created;
+        });
+        if (!request.bookingId().equals(bookingId)) {
+            return CompletableFuture.failedFuture(new Exception(
+                    "Idempotency key " + idempotencyKey + " was already used for booking " + request.bookingId()));
+        }
+        return request.result();
+    }
+
+    // Joins the booking's running or successful payment, otherwise starts a new one
+    private CompletableFuture<PaymentResult> paymentFor(final Booking booking, final User user, final String idempotencyKey) {
+        return paymentsByBooking.compute(booking.getId(), (id, existing) -> {
+            if (existing != null && (!existing.isDone() || existing.join().status() != PaymentStatus.FAILED)) {
+                return existing;
+            }
+            if (booking.isConfirmed()) {
+                return CompletableFuture.completedFuture(
+                        new PaymentResult(id, idempotencyKey, PaymentStatus.SUCCEEDED, 0, "Booking already confirmed"));
+            }
+            return CompletableFuture.supplyAsync(() -> charge(booking, user, idempotencyKey), executor);
+        });
+    }
+
+    // Drops the key, and the booking's payment if it is still the one recorded, once the retention
+    // window has passed and the booking is settled; a booking still holding its seats is checked again later
+    private void scheduleEviction(final Booking booking, final String idempotencyKey, final PaymentRequest request) {
+        CompletableFuture.delayedExecutor(KEY_RETENTION_MILLIS, TimeUnit.MILLISECONDS, executor).execute(() -> {
+            if (booking.getBookingStatus() == BookingStatus.CREATED) {
+                scheduleEviction(booking, idempotencyKey, request);
+                return;
+            }
+            paymentsByKey.remove(idempotencyKey, request);
+            paymentsByBooking.remove(booking.getId(), request.result());
+        });
+    }
+
+    private PaymentResult charge(final Booking booking, final User user, final String idempotencyKey) {
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            if (paymentStrategy.processPayment()) {
+                try {
+                    bookingService.confirmBooking(booking, user);
+                    return new PaymentResult(booking.getId(), idempotencyKey, PaymentStatus.SUCCEEDED, attempts, "Payment successful");
+                } catch (Exception e) {
+                    // Only durability failed: the booking keeps its seats, so the charge stands and is not refunded
+                    if (booking.isConfirmed()) {
+                        return new PaymentResult(booking.getId(), idempotencyKey, PaymentStatus.SUCCEEDED, attempts,
+                                "Payment successful; booking confirmed but not persisted: " + e.getMessage());
+                    }
+                    return new PaymentResult(booking.getId(), idempotencyKey, PaymentStatus.REFUND_PENDING, attempts, e.getMessage());
+                }
+            }
+            recordFailure(booking.getId());
+            final long backoff = (baseBackoffMillis << Math.min(attempts - 1, 20))
+                    + ThreadLocalRandom.current().nextLong(baseBackoffMillis / 2 + 1);
+            // Stop once the seats would be released before the next attempt could confirm them
+            final long holdDeadline = bookingService.getHoldDeadline(booking);
+            if (attempts >= maxAttempts || System.currentTimeMillis() + backoff >= holdDeadline) {
+                return new PaymentResult(booking.getId(), idempotencyKey, PaymentStatus.FAILED, attempts,
+                        "Payment failed after " + attempts + " attempts");
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new PaymentResult(booking.getId(), idempotencyKey, PaymentStatus.FAILED, attempts, "Payment interrupted");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
     }
 }
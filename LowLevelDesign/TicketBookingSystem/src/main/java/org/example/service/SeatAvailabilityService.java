@@ -1,43 +1,232 @@
 package org.example.service;
 
+import org.example.enums.SeatCategory;
+import org.example.enums.SeatState;
+import org.example.models.Booking;
 import org.example.seats.ISeatLockProvider;
 import org.example.models.Seat;
 import org.example.models.Show;
+import org.example.seats.SeatLockListener;
+import org.example.seats.SeatMapSnapshot;
+import org.example.seats.SeatMapSubscriber;
+import org.example.seats.SeatStateMap;
+import org.example.seats.ShowSeatBlocks;
+import org.example.seats.ShowSeatFeed;
+import org.example.user.User;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Keeps a seat state map per show, updated from lock and booking events, so the seat map is read
+// straight off the bits instead of being rebuilt from every booking and lock.
+// Seat map viewers can subscribe instead of polling: changed seats are collected per show and
+// pushed as one versioned update every FEED_INTERVAL_MILLIS, whatever the number of viewers.
+// Per-category counts of taken (locked or booked) seats are kept alongside for demand-based pricing.
+public class SeatAvailabilityService implements SeatLockListener, BookingListener, AutoCloseable {
+    private static final long FEED_INTERVAL_MILLIS = 100;
+    private static final SeatCategory[] CATEGORIES = SeatCategory.values();
 
-public class SeatAvailabilityService {
     // Dependency for checking booked seats
     private final BookingService bookingService;
     // Dependency for checking currently locked (but not yet booked) seats
     private final ISeatLockProvider seatLockProvider;
+    // Seat states and best-available index per show ID, built on first use
+    private final Map<Integer, ShowSeats> showSeats;
+    // Feeds with changes waiting for the next publish
+    private final ConcurrentLinkedQueue<ShowSeatFeed> pendingFeeds;
+    private volatile Thread feedPublisher;
+    // Notified when a category's taken count changes
+    private final List<AvailabilityListener> listeners = new CopyOnWriteArrayList<>();
+
+    // seatCounts and takenCounts are indexed by category ordinal
+    private record ShowSeats(SeatStateMap states, ShowSeatBlocks blocks, ShowSeatFeed feed, SeatCategory[] categories,
+                             int[] seatCounts, AtomicIntegerArray takenCounts) {
+        // Both return a bit for the seat's category if the seat went from free to taken or back, otherwise 0
+        int set(final int index, final SeatState state) {
+            final SeatState previous = states.getAndSet(index, state);
+            blocks.refresh(index);
+            feed.markChanged(index);
+            return count(index, previous, state);
+        }
+
+        int compareAndSet(final int index, final SeatState expected, final SeatState state) {
+            if (!states.compareAndSet(index, expected, state)) return 0;
+            blocks.refresh(index);
+            feed.markChanged(index);
+            return count(index, expected, state);
+        }
+
+        private int count(final int index, final SeatState from, final SeatState to) {
+            if ((from == SeatState.FREE) == (to == SeatState.FREE)) return 0;
+            final int category = categories[index].ordinal();
+            takenCounts.addAndGet(category, to == SeatState.FREE ? -1 : 1);
+            return 1 << category;
+        }
+    }
+
     // Constructor to initialize dependencies
-    public SeatAvailabilityService(final BookingService bookingService, final ISeatLockProvider seatLockProvider) {
+    private SeatAvailabilityService(final BookingService bookingService, final ISeatLockProvider seatLockProvider) {
         this.bookingService = bookingService;
         this.seatLockProvider = seatLockProvider;
+        this.showSeats = new ConcurrentHashMap<>();
+        this.pendingFeeds = new ConcurrentLinkedQueue<>();
     };
 
+    // The service is registered for lock and booking events and its feed publisher started only
+    // once it is fully constructed
+    public static SeatAvailabilityService start(final BookingService bookingService, final ISeatLockProvider seatLockProvider) {
+        final SeatAvailabilityService service = new SeatAvailabilityService(bookingService, seatLockProvider);
+        service.feedPublisher = Thread.ofVirtual().name("seat-map-feed").start(service::publishFeeds);
+        seatLockProvider.addListener(service);
+        bookingService.addListener(service);
+        return service;
+    }
+
     public List<Seat> getAvailableSeats(final Show show) {
         // Fetch all seats for the show’s screen
         final List<Seat> allSeats = show.getScreen().getSeats();
-
-        // Get the list of currently unavailable seats (booked or locked)
-        final List<Seat> unavailableSeats = getUnavailableSeats(show);
-        // Start with all seats, and remove unavailable ones
-        final List<Seat> availableSeats = new ArrayList<>(allSeats);
-        availableSeats.removeAll(unavailableSeats);
+        final SeatStateMap states = seatsFor(show).states();
+        // Pick the free seats straight from the state bits
+        final List<Seat> availableSeats = new ArrayList<>(states.count(SeatState.FREE));
+        states.forEach(SeatState.FREE, index -> availableSeats.add(allSeats.get(index)));
         return availableSeats;
     }
 
+    public int countAvailableSeats(final Show show) {
+        return seatsFor(show).states().count(SeatState.FREE);
+    }
+
+    public int countSeats(final Show show, final SeatCategory category) {
+        return seatsFor(show).seatCounts()[category.ordinal()];
+    }
+
+    // Seats of the category that are locked or booked
+    public int countTakenSeats(final Show show, final SeatCategory category) {
+        return seatsFor(show).takenCounts().get(category.ordinal());
+    }
+
+    public void addListener(final AvailabilityListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final AvailabilityListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireAvailabilityChanged(final Show show, int categoryBits) {
+        while (categoryBits != 0) {
+            final SeatCategory category = CATEGORIES[Integer.numberOfTrailingZeros(categoryBits)];
+            for (AvailabilityListener listener : listeners) {
+                listener.onAvailabilityChanged(show, category);
+            }
+            categoryBits &= categoryBits - 1;
+        }
+    }
+
+    public SeatState getSeatState(final Show show, final Seat seat) {
+        final int index = show.getScreen().getSeatIndex(seat);
+        return index < 0 ? null : seatsFor(show).states().get(index);
+    }
+
+    // Best block of count adjacent free seats in the category, empty if no row section fits them
+    public List<Seat> findBestAvailableSeats(final Show show, final SeatCategory category, final int count) {
+        return seatsFor(show).blocks().findBestBlock(category, count);
+    }
+
+    // Built from the current bookings and locks the first time a show is seen. Events for the
+    // show wait on computeIfAbsent until it is built, then apply on top of it.
+    private ShowSeats seatsFor(final Show show) {
+        return showSeats.computeIfAbsent(show.getId(), id -> {
+            final SeatStateMap states = new SeatStateMap(show.getScreen().getSeats().size());
+            for (Seat seat : seatLockProvider.getLockedSeats(show)) {
+                states.set(show.getScreen().getSeatIndex(seat), SeatState.LOCKED);
+            }
+            for (Seat seat : bookingService.getBookedSeats(show)) {
+                states.set(show.getScreen().getSeatIndex(seat), SeatState.BOOKED);
+            }
+            final List<Seat> seats = show.getScreen().getSeats();
+            final SeatCategory[] categories = new SeatCategory[states.size()];
+            final int[] seatCounts = new int[CATEGORIES.length];
+            final AtomicIntegerArray takenCounts = new AtomicIntegerArray(CATEGORIES.length);
+            for (int index = 0; index < categories.length; index++) {
+                categories[index] = seats.get(index).getSeatCategory();
+                seatCounts[categories[index].ordinal()]++;
+                if (states.get(index) != SeatState.FREE) takenCounts.incrementAndGet(categories[index].ordinal());
+            }
+            return new ShowSeats(states, new ShowSeatBlocks(show, states), new ShowSeatFeed(id, states, pendingFeeds::add),
+                    categories, seatCounts, takenCounts);
+        });
+    }
+
+    // Registers a seat map viewer; it starts from the returned snapshot and then receives every later version
+    public SeatMapSnapshot subscribe(final Show show, final SeatMapSubscriber subscriber) {
+        return seatsFor(show).feed().subscribe(subscriber);
+    }
 
-    private List<Seat> getUnavailableSeats(final Show show) {
-        // Seats that are already booked
-        final List<Seat> unavailableSeats = bookingService.getBookedSeats(show);
+    public void unsubscribe(final Show show, final SeatMapSubscriber subscriber) {
+        seatsFor(show).feed().unsubscribe(subscriber);
+    }
 
+    private void publishFeeds() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(FEED_INTERVAL_MILLIS);
+                ShowSeatFeed feed;
+                while ((feed = pendingFeeds.poll()) != null) {
+                    feed.publish();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void onSeatsLocked(final Show show, final List<Seat> seats, final User user) {
+        final ShowSeats current = seatsFor(show);
+        int changed = 0;
+        for (Seat seat : seats) {
+            changed |= current.compareAndSet(show.getScreen().getSeatIndex(seat), SeatState.FREE, SeatState.LOCKED);
+        }
+        fireAvailabilityChanged(show, changed);
+    }
+
+    @Override
+    public void onSeatsReleased(final Show show, final List<Seat> seats) {
+        final ShowSeats current = seatsFor(show);
+        int changed = 0;
+        for (Seat seat : seats) {
+            final int index = show.getScreen().getSeatIndex(seat);
+            // A newer lock's event may have overtaken this release; re-check the lock after freeing
+            final int freed = current.compareAndSet(index, SeatState.LOCKED, SeatState.FREE);
+            if (freed != 0 && seatLockProvider.isLocked(show, seat)) {
+                current.compareAndSet(index, SeatState.FREE, SeatState.LOCKED);
+            }
+            changed |= freed;
+        }
+        fireAvailabilityChanged(show, changed);
+    }
+
+    @Override
+    public void onBookingConfirmed(final Booking booking) {
+        final Show show = booking.getShow();
+        final ShowSeats current = seatsFor(show);
+        int changed = 0;
+        for (Seat seat : booking.getSeatsBooked()) {
+            changed |= current.set(show.getScreen().getSeatIndex(seat), SeatState.BOOKED);
+        }
+        fireAvailabilityChanged(show, changed);
+    }
 
-        // Seats that are locked (e.g., being held in another user’s session)
-        unavailableSeats.addAll(seatLockProvider.getLockedSeats(show));
-        return unavailableSeats;
+    @Override
+    public void close() {
+        feedPublisher.interrupt();
+        seatLockProvider.removeListener(this);
+        bookingService.removeListener(this);
     }
 }
@@ -0,0 +1,82 @@
+package org.example.service;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Single writer for one show: booking commands for the show run one at a time, in arrival order.
+// Each command is therefore atomic with respect to every other booking change on the show, without
+// locks on the caller's side. Commands queue on the engine and one drain task on the shared executor
+// runs them; the task is only scheduled while there is work, so an idle show holds no thread.
+// BookingService enqueues and retires engines inside its map's compute, so a retired engine never
+// receives another command and the next command for the show starts a fresh engine.
+final class ShowBookingEngine {
+    private final Executor executor;
+    // Called after the drain task finds the queue empty
+    private final Runnable onIdle;
+    private final Queue<Command<?>> commands = new ConcurrentLinkedQueue<>();
+    // True while a drain task is scheduled or running
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private record Command<T>(Callable<T> action, CompletableFuture<T> result) {
+        void run() {
+            try {
+                result.complete(action.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+    }
+
+    ShowBookingEngine(final Executor executor, final Runnable onIdle) {
+        this.executor = executor;
+        this.onIdle = onIdle;
+    }
+
+    // Queues the command and completes the result once it has run on the show's drain task
+    <T> void enqueue(final Callable<T> action, final CompletableFuture<T> result) {
+        commands.add(new Command<>(action, result));
+        if (!scheduled.compareAndSet(false, true)) return;
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // The executor is shut down: nothing will run the queue, so fail what is in it
+            scheduled.set(false);
+            Command<?> command;
+            while ((command = commands.poll()) != null) {
+                command.result().completeExceptionally(new RejectedExecutionException("Booking engine is closed"));
+            }
+        }
+    }
+
+    boolean isIdle() {
+        return !scheduled.get() && commands.isEmpty();
+    }
+
+    private void drain() {
+        do {
+            Command<?> command;
+            while ((command = commands.poll()) != null) {
+                command.run();
+            }
+            scheduled.set(false);
+            // A command queued after the last poll saw the flag still set and did not schedule a task
+        } while (!commands.isEmpty() && scheduled.compareAndSet(false, true));
+        onIdle.run();
+    }
+
+    // Waits for a command's result, rethrowing its exception
+    static <T> T await(final CompletableFuture<T> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+}
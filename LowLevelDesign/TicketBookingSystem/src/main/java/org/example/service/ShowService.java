@@ -5,38 +5,176 @@ import org.example.models.Screen;
 import org.example.models.Show;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class ShowService {
-    private final Map<Integer, Show> shows;  // Map to hold all created shows (key = show ID)
+    private final IntKeyedConcurrentMap<Show> shows;  // Map to hold all created shows (key = show ID), lock-free lookups
     private final AtomicInteger showCounter;  // Counter to generate unique IDs for each show
-    // Constructor initializing the shows map and show counter
+    // Time-ordered indexes: all shows, and shows per movie, screen and theatre ID
+    private final ConcurrentNavigableMap<ShowKey, Show> timeline;
+    private final Map<Integer, ConcurrentNavigableMap<ShowKey, Show>> showsByMovie;
+    private final Map<Integer, ConcurrentNavigableMap<ShowKey, Show>> showsByScreen;
+    private final Map<Integer, ConcurrentNavigableMap<ShowKey, Show>> showsByTheatre;
+    private final List<CatalogListener> listeners;
+
+    // Orders shows by start time; the show ID breaks ties between shows starting together
+    private record ShowKey(long startMillis, int showId) implements Comparable<ShowKey> {
+        static ShowKey of(final Show show) {
+            return new ShowKey(show.getStartTime().getTime(), show.getId());
+        }
+
+        static ShowKey first(final long startMillis) {
+            return new ShowKey(startMillis, Integer.MIN_VALUE);
+        }
+
+        static ShowKey last(final long startMillis) {
+            return new ShowKey(startMillis, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(final ShowKey other) {
+            final int byTime = Long.compare(startMillis, other.startMillis);
+            return byTime != 0 ? byTime : Integer.compare(showId, other.showId);
+        }
+    }
+
+    // Constructor initializing the shows map, indexes and show counter
     public ShowService() {
-        this.shows = new HashMap<>();
+        this.shows = new IntKeyedConcurrentMap<>();
         this.showCounter = new AtomicInteger(0);
+        this.timeline = new ConcurrentSkipListMap<>();
+        this.showsByMovie = new ConcurrentHashMap<>();
+        this.showsByScreen = new ConcurrentHashMap<>();
+        this.showsByTheatre = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+    public void addListener(final CatalogListener listener) {
+        listeners.add(listener);
+    }
+    public void removeListener(final CatalogListener listener) {
+        listeners.remove(listener);
     }
     // Retrieves a show by ID, throws exception if not found
     public Show getShow(final int showId) throws Exception {
-        if (!shows.containsKey(showId)) {
+        final Show show = shows.get(showId);
+        if (show == null) {
             throw new Exception("Show with ID " + showId + " not found.");
         }
-        return shows.get(showId);
+        return show;
     }
-    public Show createShow(final Movie movie, final Screen screen, final Date startTime, final Integer durationInSeconds, final String showInfo) {
-        // Generate a unique show ID
-        int showId = showCounter.incrementAndGet();
-        // Create and store the new show
-        final Show show = new Show(showId, movie, screen, startTime, durationInSeconds, showInfo);
-        this.shows.put(showId, show);
+    public Show createShow(final Movie movie, final Screen screen, final Date startTime, final Integer durationInMinutes, final String showInfo) throws Exception {
+        final ConcurrentNavigableMap<ShowKey, Show> screenShows = index(showsByScreen, screen.getScreenId());
+        final Show show;
+        // Scheduling on one screen is serialized so two overlapping shows cannot both pass the check
+        synchronized (screenShows) {
+            final long start = startTime.getTime();
+            final long end = start + durationInMinutes * 60_000L;
+            final List<Show> overlapping = findOverlappingShows(screenShows, start, end);
+            if (!overlapping.isEmpty()) {
+                throw new Exception("Screen " + screen.getScreenId() + " already has show " + overlapping.get(0).getId()
+                        + " scheduled during that time.");
+            }
+            // Generate a unique show ID
+            int showId = showCounter.incrementAndGet();
+            // Create and store the new show
+            show = new Show(showId, movie, screen, startTime, durationInMinutes, showInfo);
+            addShow(show);
+        }
+        listeners.forEach(listener -> listener.onShowCreated(show));
         return show;
     }
-    private List<Show> getShowsForScreen(final Screen screen) {
+
+    // Returns the show already stored under the ID, or null once this one is stored and indexed
+    private Show addShow(final Show show) {
+        // The show's seat state is sized from the screen's seats, so fix them before the show exists
+        show.getScreen().sealLayout();
+        final Show existing = this.shows.putIfAbsent(show.getId(), show);
+        if (existing != null) return existing;
+        final ShowKey key = ShowKey.of(show);
+        index(showsByScreen, show.getScreen().getScreenId()).put(key, show);
+        timeline.put(key, show);
+        index(showsByMovie, show.getMovie().getMovieId()).put(key, show);
+        index(showsByTheatre, show.getScreen().getTheatre().getTheatreId()).put(key, show);
+        return null;
+    }
+
+    // Recreates a show with its original ID on recovery; an existing show is kept
+    public Show restoreShow(final int showId, final Movie movie, final Screen screen, final Date startTime,
+                            final Integer durationInMinutes, final String showInfo) {
+        showCounter.accumulateAndGet(showId, Math::max);
+        final Show show = new Show(showId, movie, screen, startTime, durationInMinutes, showInfo);
+        final Show existing = addShow(show);
+        return existing == null ? show : existing;
+    }
+
+    private static ConcurrentNavigableMap<ShowKey, Show> index(final Map<Integer, ConcurrentNavigableMap<ShowKey, Show>> indexes,
+                                                              final int id) {
+        return indexes.computeIfAbsent(id, key -> new ConcurrentSkipListMap<>());
+    }
+
+    // Shows in the index starting within [from, to], in start time order
+    private static List<Show> between(final ConcurrentNavigableMap<ShowKey, Show> index, final Date from, final Date to) {
+        if (index == null) return new ArrayList<>();
+        return new ArrayList<>(index.subMap(ShowKey.first(from.getTime()), true, ShowKey.last(to.getTime()), true).values());
+    }
+
+    public List<Show> getShowsBetween(final Date from, final Date to) {
+        return between(timeline, from, to);
+    }
+
+    public List<Show> getShowsForMovie(final int movieId, final Date from, final Date to) {
+        return between(showsByMovie.get(movieId), from, to);
+    }
+
+    public List<Show> getShowsForTheatre(final int theatreId, final Date from, final Date to) {
+        return between(showsByTheatre.get(theatreId), from, to);
+    }
+
+    // "Shows of movie X in theatre Y between t1 and t2": walks whichever of the two indexes is smaller
+    public List<Show> findShows(final int movieId, final int theatreId, final Date from, final Date to) {
+        final ConcurrentNavigableMap<ShowKey, Show> byMovie = showsByMovie.get(movieId);
+        final ConcurrentNavigableMap<ShowKey, Show> byTheatre = showsByTheatre.get(theatreId);
+        if (byMovie == null || byTheatre == null) return new ArrayList<>();
         final List<Show> response = new ArrayList<>();
-        for (Show show : shows.values()) {
-            if (show.getScreen().getScreenId() == screen.getScreenId()) { // Compare by screen ID
-                response.add(show);
+        if (byMovie.size() <= byTheatre.size()) {
+            for (Show show : between(byMovie, from, to)) {
+                if (show.getScreen().getTheatre().getTheatreId() == theatreId) response.add(show);
+            }
+        } else {
+            for (Show show : between(byTheatre, from, to)) {
+                if (show.getMovie().getMovieId() == movieId) response.add(show);
             }
         }
         return response;
     }
+
+    public List<Show> getShowsForScreen(final Screen screen) {
+        final ConcurrentNavigableMap<ShowKey, Show> screenShows = showsByScreen.get(screen.getScreenId());
+        return screenShows == null ? new ArrayList<>() : new ArrayList<>(screenShows.values());
+    }
+
+    // Shows on the screen that would overlap a show running from startTime for durationInMinutes
+    public List<Show> findOverlappingShows(final Screen screen, final Date startTime, final int durationInMinutes) {
+        final ConcurrentNavigableMap<ShowKey, Show> screenShows = showsByScreen.get(screen.getScreenId());
+        if (screenShows == null) return new ArrayList<>();
+        final long start = startTime.getTime();
+        return findOverlappingShows(screenShows, start, start + durationInMinutes * 60_000L);
+    }
+
+    // Shows on one screen never overlap each other, so only the last show starting before the
+    // window and the shows starting inside it can overlap
+    private static List<Show> findOverlappingShows(final ConcurrentNavigableMap<ShowKey, Show> screenShows,
+                                                   final long start, final long end) {
+        final List<Show> overlapping = new ArrayList<>();
+        final Map.Entry<ShowKey, Show> before = screenShows.lowerEntry(ShowKey.first(start));
+        if (before != null && before.getValue().getEndTime().getTime() > start) {
+            overlapping.add(before.getValue());
+        }
+        overlapping.addAll(screenShows.subMap(ShowKey.first(start), true, ShowKey.first(end), false).values());
+        return overlapping;
+    }
 }
@@ -5,88 +5,136 @@ import org.example.models.Screen;
 import org.example.models.Seat;
 import org.example.models.Theatre;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class TheatreService {
 
-    // Maps to hold all created theatres, screens, and seats
-    private final Map<Integer, Theatre> theatres;
-    private final Map<Integer, Screen> screens;
-    private final Map<Integer, Seat> seats;
+    // Maps to hold all created theatres, screens, and seats; lookups are lock-free
+    private final IntKeyedConcurrentMap<Theatre> theatres;
+    private final IntKeyedConcurrentMap<Screen> screens;
+    private final IntKeyedConcurrentMap<Seat> seats;
 
     // Atomic counters for generating unique IDs
     private final AtomicInteger theatreCounter;
     private final AtomicInteger screenCounter;
     private final AtomicInteger seatCounter;
+    // Notified when theatres, screens and seats are created
+    private final List<CatalogListener> listeners;
     // Constructor initializing all maps and counters
     public TheatreService() {
-        this.theatres = new HashMap<>();
-        this.screens = new HashMap<>();
-        this.seats = new HashMap<>();
+        this.theatres = new IntKeyedConcurrentMap<>();
+        this.screens = new IntKeyedConcurrentMap<>();
+        this.seats = new IntKeyedConcurrentMap<>();
         this.theatreCounter = new AtomicInteger(0);
         this.screenCounter = new AtomicInteger(0);
         this.seatCounter = new AtomicInteger(0);
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+    public void addListener(final CatalogListener listener) {
+        listeners.add(listener);
+    }
+    public void removeListener(final CatalogListener listener) {
+        listeners.remove(listener);
     }
     // Retrieves a seat by ID, throws exception if not found
     public Seat getSeat(final int seatId) throws Exception {
-        if (!seats.containsKey(seatId)) {
+        final Seat seat = seats.get(seatId);
+        if (seat == null) {
             throw new Exception("Seat with ID " + seatId + " not found.");
         }
-        return seats.get(seatId);
+        return seat;
     };
 
     // Retrieves a theatre by ID, throws exception if not found
     public Theatre getTheatre(final int theatreId) throws Exception{
-        if (!theatres.containsKey(theatreId)) {
+        final Theatre theatre = theatres.get(theatreId);
+        if (theatre == null) {
             throw new Exception("Theatre with ID " + theatreId + " not found.");
         }
-        return theatres.get(theatreId);
+        return theatre;
     }
     // Retrieves a screen by ID, throws exception if not found
     public Screen getScreen(final int screenId) throws Exception  {
-        if (!screens.containsKey(screenId)) {
+        final Screen screen = screens.get(screenId);
+        if (screen == null) {
             throw new Exception("Screen with ID " + screenId + " not found.");
         }
-        return screens.get(screenId);
+        return screen;
     }
     // Creates a new theatre with a unique ID and stores it
     public Theatre createTheatre(final String theatreName, final String theatreInfo) {
         int theatreId = theatreCounter.incrementAndGet(); // Generate unique ID
         Theatre theatre = new Theatre(theatreId, theatreName, theatreInfo);
-        theatres.put(theatreId, theatre); // Store theatre in map
+        theatres.putIfAbsent(theatreId, theatre); // Store theatre in map
+        listeners.forEach(listener -> listener.onTheatreCreated(theatre));
         return theatre;
     }
     // Creates a new screen in the given theatre and links it
     public Screen createScreenInTheatre( final String type, final String screenName, final Theatre theatre) {
         Screen screen = createScreen(type, screenName, theatre); // Create screen
         theatre.addScreen(screen); // Add to theatre
+        listeners.forEach(listener -> listener.onScreenCreated(screen));
         return screen;
     }
     // Creates a new seat in the given screen and stores it
     public Seat createSeatInScreen(final Integer rowNo, SeatCategory seatCategory, final Screen screen, final int seatCost) {
         int seatId = seatCounter.incrementAndGet(); // Generate unique seat ID
         Seat seat = new Seat(seatId, rowNo, seatCategory, seatCost);
-        seats.put(seatId, seat); // Store seat in map
-        screen.addSeat(seat); // Link seat to screen
+        screen.addSeat(seat); // Link seat to screen; fails once the screen has shows
+        seats.putIfAbsent(seatId, seat); // Store seat in map
+        listeners.forEach(listener -> listener.onSeatCreated(screen, seat));
         return seat;
     }
+    // Creates a row of seatCount seats in the screen with a single layout update
+    public List<Seat> createSeatsInScreen(final Integer rowNo, final SeatCategory seatCategory, final Screen screen,
+                                          final int seatCost, final int seatCount) {
+        final List<Seat> created = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            created.add(new Seat(seatCounter.incrementAndGet(), rowNo, seatCategory, seatCost));
+        }
+        screen.addSeats(created); // Link seats to screen; fails once the screen has shows
+        for (Seat seat : created) {
+            seats.putIfAbsent(seat.getId(), seat);
+            listeners.forEach(listener -> listener.onSeatCreated(screen, seat));
+        }
+        return created;
+    }
     // Private helper to create a screen with unique ID and store it
     private Screen createScreen(final String type, final String screenName, final Theatre theatre) {
         int screenId = screenCounter.incrementAndGet(); // Generate unique ID
         Screen screen = new Screen(screenId, type, screenName, theatre);
-        screens.put(screenId, screen); // Store screen in map
+        screens.putIfAbsent(screenId, screen); // Store screen in map
         return screen;
     }
 
-
-
-
-
-
-
-
-
-
+    // Recovery Section Start: recreate entries with their original IDs; entries that already exist are kept
+    public Theatre restoreTheatre(final int theatreId, final String theatreName, final String theatreInfo) {
+        theatreCounter.accumulateAndGet(theatreId, Math::max);
+        final Theatre theatre = new Theatre(theatreId, theatreName, theatreInfo);
+        final Theatre existing = theatres.putIfAbsent(theatreId, theatre);
+        return existing == null ? theatre : existing;
+    }
+    public Screen restoreScreen(final int screenId, final String type, final String screenName, final int theatreId) throws Exception {
+        final Theatre theatre = getTheatre(theatreId);
+        screenCounter.accumulateAndGet(screenId, Math::max);
+        final Screen screen = new Screen(screenId, type, screenName, theatre);
+        final Screen existing = screens.putIfAbsent(screenId, screen);
+        if (existing != null) return existing;
+        theatre.addScreen(screen);
+        return screen;
+    }
+    // Seats of one screen, linked with a single layout update; seats already restored are skipped
+    public void restoreSeats(final int screenId, final List<Seat> restoredSeats) throws Exception {
+        final Screen screen = getScreen(screenId);
+        final List<Seat> added = new ArrayList<>(restoredSeats.size());
+        for (Seat seat : restoredSeats) {
+            seatCounter.accumulateAndGet(seat.getId(), Math::max);
+            if (seats.putIfAbsent(seat.getId(), seat) == null) added.add(seat);
+        }
+        screen.addSeats(added);
+    }
+    // Recovery Section End
 }
@@ -0,0 +1,201 @@
+package org.example.simulation;
+
+import org.example.enums.PaymentStatus;
+import org.example.enums.SeatCategory;
+import org.example.enums.SeatState;
+import org.example.models.Booking;
+import org.example.models.Movie;
+import org.example.models.Screen;
+import org.example.models.Seat;
+import org.example.models.Show;
+import org.example.models.Theatre;
+import org.example.payment.PaymentResult;
+import org.example.payment.strategy.StubPaymentGateway;
+import org.example.seats.SeatLockProvider;
+import org.example.service.BookingService;
+import org.example.service.MovieService;
+import org.example.service.PaymentService;
+import org.example.service.SeatAvailabilityService;
+import org.example.service.ShowService;
+import org.example.service.TheatreService;
+import org.example.user.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Flash sale against one show: every user is a virtual thread released at the same instant. A user
+ * reads the seat map, picks seats skewed towards the centre of the screen, thinks for an exponential
+ * time, then books and pays. Lost seats are retried up to maxAttemptsPerUser times. Reports confirmed
+ * bookings per second, the lock conflict rate, checkout latency percentiles, and checks that no seat
+ * ended up in two confirmed bookings.
+ */
+public class FlashSaleSimulator {
+    private final SimulationConfig config;
+
+    public FlashSaleSimulator(SimulationConfig config) {
+        this.config = config;
+    }
+
+    public SimulationReport run() throws Exception {
+        TheatreService theatreService = new TheatreService();
+        MovieService movieService = new MovieService();
+        ShowService showService = new ShowService();
+        SeatLockProvider seatLockProvider = new SeatLockProvider(config.getLockTimeoutSeconds());
+        BookingService bookingService = new BookingService(seatLockProvider);
+        SeatAvailabilityService availabilityService = SeatAvailabilityService.start(bookingService, seatLockProvider);
+        // One charge per checkout: a failed payment is abandoned rather than retried
+        PaymentService paymentService = new PaymentService(
+                new StubPaymentGateway(config.getPaymentLatencyMillis(), config.getPaymentFailureRate()), bookingService, 0, 1);
+
+        Show show = buildShow(theatreService, movieService, showService);
+        List<Seat> ranked = new ArrayList<>(show.getScreen().getSeats());
+        ranked.sort(desirability(show.getScreen()));
+
+        int maxAttempts = config.getUsers() * config.getMaxAttemptsPerUser();
+        long[] latencies = new long[maxAttempts];
+        AtomicInteger recorded = new AtomicInteger();
+        LongAdder confirmed = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        LongAdder paymentFailures = new LongAdder();
+        LongAdder lostHolds = new LongAdder();
+        LongAdder soldOut = new LongAdder();
+        CountDownLatch saleOpens = new CountDownLatch(1);
+        long elapsed;
+
+        try {
+            List<Thread> users = new ArrayList<>(config.getUsers());
+            for (int u = 0; u < config.getUsers(); u++) {
+                User user = new User("fan-" + u, "fan-" + u + "@example.org");
+                SplittableRandom random = new SplittableRandom(config.getSeed() + u);
+                users.add(Thread.ofVirtual().name("sim-user-" + u).start(() -> {
+                    try {
+                        saleOpens.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int attempt = 0; attempt < config.getMaxAttemptsPerUser(); attempt++) {
+                        // The user's view of the seat map, best seats first
+                        List<Seat> free = new ArrayList<>();
+                        for (Seat seat : ranked) {
+                            if (availabilityService.getSeatState(show, seat) == SeatState.FREE) free.add(seat);
+                        }
+                        if (free.size() < config.getSeatsPerBooking()) {
+                            soldOut.increment();
+                            return;
+                        }
+                        List<Seat> chosen = pickSeats(free, random);
+                        LockSupport.parkNanos((long) exponential(random, config.getMeanThinkTimeMillis() * 1e6));
+
+                        long checkoutStart = System.nanoTime();
+                        Booking booking;
+                        try {
+                            booking = bookingService.createBooking(user, show, chosen);
+                        } catch (Exception e) {
+                            latencies[recorded.getAndIncrement()] = System.nanoTime() - checkoutStart;
+                            conflicts.increment();
+                            continue;
+                        }
+                        PaymentStatus status;
+                        try {
+                            PaymentResult result = paymentService.processPaymentAsync(booking.getId(), user, UUID.randomUUID().toString()).get();
+                            status = result.status();
+                        } catch (Exception e) {
+                            status = PaymentStatus.FAILED;
+                        }
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - checkoutStart;
+                        switch (status) {
+                            case SUCCEEDED -> confirmed.increment();
+                            case FAILED -> paymentFailures.increment();
+                            case REFUND_PENDING -> lostHolds.increment(); // charged, but the seat hold ran out first
+                        }
+                        return;
+                    }
+                }));
+            }
+            long start = System.nanoTime();
+            saleOpens.countDown();
+            for (Thread user : users) user.join();
+            elapsed = System.nanoTime() - start;
+        } finally {
+            paymentService.close();
+            availabilityService.close();
+            bookingService.close();
+            seatLockProvider.close();
+        }
+
+        long[] measured = new long[recorded.get()];
+        System.arraycopy(latencies, 0, measured, 0, measured.length);
+        return new SimulationReport(confirmed.sum(), measured.length, conflicts.sum(), paymentFailures.sum(), lostHolds.sum(), soldOut.sum(),
+                countDoubleBookedSeats(bookingService, show), elapsed, measured);
+    }
+
+    private Show buildShow(TheatreService theatreService, MovieService movieService, ShowService showService) throws Exception {
+        Theatre theatre = theatreService.createTheatre("Sim Cinemas", "Flash sale");
+        Screen screen = theatreService.createScreenInTheatre("nrml", "Sim Screen", theatre);
+        for (int row = 1; row <= config.getRows(); row++) {
+            SeatCategory category = row <= config.getRows() / 4 ? SeatCategory.PLATINUM
+                    : row <= config.getRows() / 2 ? SeatCategory.GOLD : SeatCategory.SILVER;
+            theatreService.createSeatsInScreen(row, category, screen, 100, config.getSeatsPerRow());
+        }
+        Movie movie = movieService.createMovie("Premiere", 150, "Event");
+        return showService.createShow(movie, screen, new Date(), 150, "Flash sale");
+    }
+
+    // Centre seats of the middle rows first; seats are created row by row, so the position in a row is index % seatsPerRow
+    private Comparator<Seat> desirability(Screen screen) {
+        double middleRow = (config.getRows() + 1) / 2.0;
+        double middleSeat = (config.getSeatsPerRow() - 1) / 2.0;
+        return Comparator.comparingDouble(seat -> Math.abs(seat.getRow() - middleRow)
+                + Math.abs(screen.getSeatIndex(seat) % config.getSeatsPerRow() - middleSeat));
+    }
+
+    // Draws seats by rank; u^(1 + skew) concentrates the draws on the best-ranked free seats
+    private List<Seat> pickSeats(List<Seat> rankedFreeSeats, SplittableRandom random) {
+        Set<Seat> chosen = new HashSet<>();
+        while (chosen.size() < config.getSeatsPerBooking()) {
+            int rank = (int) (rankedFreeSeats.size() * Math.pow(random.nextDouble(), 1 + config.getHotSeatSkew()));
+            chosen.add(rankedFreeSeats.get(rank));
+        }
+        return new ArrayList<>(chosen);
+    }
+
+    private static long countDoubleBookedSeats(BookingService bookingService, Show show) {
+        Set<Seat> seen = new HashSet<>();
+        long duplicates = 0;
+        for (Booking booking : bookingService.getAllBookings(show)) {
+            if (!booking.isConfirmed()) continue;
+            for (Seat seat : booking.getSeatsBooked()) {
+                if (!seen.add(seat)) duplicates++;
+            }
+        }
+        // The booked-seat index must agree with the confirmed bookings
+        return duplicates + Math.abs(seen.size() - bookingService.getBookedSeats(show).size());
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -mean * Math.log(1.0 - random.nextDouble());
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimulationConfig config = new SimulationConfig.Builder()
+                .users(args.length > 0 ? Integer.parseInt(args[0]) : 5_000)
+                .hotSeatSkew(args.length > 1 ? Double.parseDouble(args[1]) : 2.0)
+                .paymentFailureRate(args.length > 2 ? Double.parseDouble(args[2]) : 0.05)
+                .meanThinkTimeMillis(args.length > 3 ? Double.parseDouble(args[3]) : 50)
+                .build();
+        System.out.println("*** Flash sale simulation: " + config.getUsers() + " users, " + config.getRows() * config.getSeatsPerRow()
+                + " seats, skew " + config.getHotSeatSkew() + ", payment failure rate " + config.getPaymentFailureRate() + " ***");
+        System.out.println(new FlashSaleSimulator(config).run());
+    }
+}
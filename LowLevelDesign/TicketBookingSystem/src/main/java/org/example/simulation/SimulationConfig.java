@@ -0,0 +1,156 @@
+package org.example.simulation;
+
+public class SimulationConfig {
+    private final int users;
+    private final int rows;
+    private final int seatsPerRow;
+    private final int seatsPerBooking;
+    private final double hotSeatSkew;
+    private final double paymentFailureRate;
+    private final long paymentLatencyMillis;
+    private final double meanThinkTimeMillis;
+    private final int maxAttemptsPerUser;
+    private final int lockTimeoutSeconds;
+    private final long seed;
+
+    private SimulationConfig(Builder builder) {
+        this.users = builder.users;
+        this.rows = builder.rows;
+        this.seatsPerRow = builder.seatsPerRow;
+        this.seatsPerBooking = builder.seatsPerBooking;
+        this.hotSeatSkew = builder.hotSeatSkew;
+        this.paymentFailureRate = builder.paymentFailureRate;
+        this.paymentLatencyMillis = builder.paymentLatencyMillis;
+        this.meanThinkTimeMillis = builder.meanThinkTimeMillis;
+        this.maxAttemptsPerUser = builder.maxAttemptsPerUser;
+        this.lockTimeoutSeconds = builder.lockTimeoutSeconds;
+        this.seed = builder.seed;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public int getSeatsPerBooking() {
+        return seatsPerBooking;
+    }
+
+    public double getHotSeatSkew() {
+        return hotSeatSkew;
+    }
+
+    public double getPaymentFailureRate() {
+        return paymentFailureRate;
+    }
+
+    public long getPaymentLatencyMillis() {
+        return paymentLatencyMillis;
+    }
+
+    public double getMeanThinkTimeMillis() {
+        return meanThinkTimeMillis;
+    }
+
+    public int getMaxAttemptsPerUser() {
+        return maxAttemptsPerUser;
+    }
+
+    public int getLockTimeoutSeconds() {
+        return lockTimeoutSeconds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public static class Builder {
+        private int users = 5_000;
+        private int rows = 20;
+        private int seatsPerRow = 25;
+        private int seatsPerBooking = 2;
+        private double hotSeatSkew = 2.0;
+        private double paymentFailureRate = 0.05;
+        private long paymentLatencyMillis = 20;
+        private double meanThinkTimeMillis = 50;
+        private int maxAttemptsPerUser = 3;
+        private int lockTimeoutSeconds = 2;
+        private long seed = 42;
+
+        // Each user is a virtual thread; all of them start when the sale opens
+        public Builder users(int users) {
+            this.users = users;
+            return this;
+        }
+
+        public Builder rows(int rows) {
+            this.rows = rows;
+            return this;
+        }
+
+        public Builder seatsPerRow(int seatsPerRow) {
+            this.seatsPerRow = seatsPerRow;
+            return this;
+        }
+
+        public Builder seatsPerBooking(int seatsPerBooking) {
+            this.seatsPerBooking = seatsPerBooking;
+            return this;
+        }
+
+        // 0 picks uniformly among the free seats; higher values crowd users onto the centre seats
+        public Builder hotSeatSkew(double hotSeatSkew) {
+            this.hotSeatSkew = hotSeatSkew;
+            return this;
+        }
+
+        // Chance that a payment fails; the user then abandons the booking and its seats stay held until the lock times out
+        public Builder paymentFailureRate(double paymentFailureRate) {
+            this.paymentFailureRate = paymentFailureRate;
+            return this;
+        }
+
+        public Builder paymentLatencyMillis(long paymentLatencyMillis) {
+            this.paymentLatencyMillis = paymentLatencyMillis;
+            return this;
+        }
+
+        // Mean of the exponential pause between reading the seat map and trying to book
+        public Builder meanThinkTimeMillis(double meanThinkTimeMillis) {
+            this.meanThinkTimeMillis = meanThinkTimeMillis;
+            return this;
+        }
+
+        public Builder maxAttemptsPerUser(int maxAttemptsPerUser) {
+            this.maxAttemptsPerUser = maxAttemptsPerUser;
+            return this;
+        }
+
+        public Builder lockTimeoutSeconds(int lockTimeoutSeconds) {
+            this.lockTimeoutSeconds = lockTimeoutSeconds;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public SimulationConfig build() {
+            if (users <= 0 || rows <= 0 || seatsPerRow <= 0 || seatsPerBooking <= 0 || maxAttemptsPerUser <= 0 || lockTimeoutSeconds <= 0) {
+                throw new IllegalArgumentException("Simulation sizes and limits must be positive");
+            }
+            if (hotSeatSkew < 0 || paymentFailureRate < 0 || paymentFailureRate > 1 || meanThinkTimeMillis < 0 || paymentLatencyMillis < 0) {
+                throw new IllegalArgumentException("Skew, think time and latency must be non-negative and the failure rate within [0, 1]");
+            }
+            return new SimulationConfig(this);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.simulation;
+
+import java.util.Arrays;
+
+public class SimulationReport {
+    private final long confirmed;
+    private final long attempts;
+    private final long lockConflicts;
+    private final long paymentFailures;
+    private final long lostHolds;
+    private final long soldOutUsers;
+    private final long doubleBookedSeats;
+    private final long elapsedNanos;
+    private final long[] sortedLatencyNanos;
+
+    SimulationReport(long confirmed, long attempts, long lockConflicts, long paymentFailures, long lostHolds, long soldOutUsers,
+                     long doubleBookedSeats, long elapsedNanos, long[] latencyNanos) {
+        this.confirmed = confirmed;
+        this.attempts = attempts;
+        this.lockConflicts = lockConflicts;
+        this.paymentFailures = paymentFailures;
+        this.lostHolds = lostHolds;
+        this.soldOutUsers = soldOutUsers;
+        this.doubleBookedSeats = doubleBookedSeats;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedLatencyNanos = latencyNanos.clone();
+        Arrays.sort(this.sortedLatencyNanos);
+    }
+
+    public long getConfirmed() {
+        return confirmed;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    // Attempts rejected because a chosen seat was already locked or booked by someone else
+    public long getLockConflicts() {
+        return lockConflicts;
+    }
+
+    public double getConflictRate() {
+        return attempts == 0 ? 0 : (double) lockConflicts / attempts;
+    }
+
+    public long getPaymentFailures() {
+        return paymentFailures;
+    }
+
+    // Payments that went through after the seat hold had run out, so the booking could not be confirmed
+    public long getLostHolds() {
+        return lostHolds;
+    }
+
+    // Users who found no free seats left on the seat map
+    public long getSoldOutUsers() {
+        return soldOutUsers;
+    }
+
+    // Seats held by more than one confirmed booking, or missing from the booked-seat index; must be 0
+    public long getDoubleBookedSeats() {
+        return doubleBookedSeats;
+    }
+
+    public double getBookingsPerSecond() {
+        return confirmed / (elapsedNanos / 1e9);
+    }
+
+    // Checkout attempt latency (booking through payment) at the given percentile (0-100), in microseconds
+    public double percentileMicros(double percentile) {
+        if (sortedLatencyNanos.length == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencyNanos.length) - 1;
+        return sortedLatencyNanos[Math.max(0, Math.min(index, sortedLatencyNanos.length - 1))] / 1_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("confirmed=%d attempts=%d conflicts=%d (%.1f%%) paymentFailures=%d lostHolds=%d soldOut=%d doubleBooked=%d "
+                        + "throughput=%.0f bookings/s p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                confirmed, attempts, lockConflicts, getConflictRate() * 100, paymentFailures, lostHolds, soldOutUsers, doubleBookedSeats,
+                getBookingsPerSecond(), percentileMicros(50), percentileMicros(99), percentileMicros(99.9), percentileMicros(100));
+    }
+}
@@ -3,67 +3,79 @@ package org.example.user;
 import org.example.models.Seat;
 import org.example.models.Show;
 
-import java.time.Instant;
 import java.util.Date;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
 
-public class SeatLock {
-    private Seat seat;
-    private Show show;
-    private User lockedBy;
-    private Integer timeoutInSeconds;
-    private Date lockTime;
+// One seat held by one user until its deadline; queued by the lock provider so it is released on time
+public class SeatLock implements Delayed {
+    private final Seat seat;
+    private final Show show;
+    private final User lockedBy;
+    private final Integer timeoutInSeconds;
+    private final long lockTimeMillis;
+    private final long expiresAtMillis;
 
     public SeatLock(Seat seat, Show show, User lockedBy, Integer timeoutInSeconds, Date lockTime) {
+        this(seat, show, lockedBy, timeoutInSeconds, lockTime.getTime());
+    }
+
+    public SeatLock(Seat seat, Show show, User lockedBy, Integer timeoutInSeconds, long lockTimeMillis) {
+        this(seat, show, lockedBy, lockTimeMillis, lockTimeMillis + timeoutInSeconds * 1000L);
+    };
+
+    private SeatLock(Seat seat, Show show, User lockedBy, long lockTimeMillis, long expiresAtMillis) {
         this.seat = seat;
         this.show = show;
         this.lockedBy = lockedBy;
-        this.timeoutInSeconds = timeoutInSeconds;
-        this.lockTime = lockTime;
-    };
+        this.timeoutInSeconds = (int) ((expiresAtMillis - lockTimeMillis) / 1000);
+        this.lockTimeMillis = lockTimeMillis;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    // Lock with an explicit deadline rather than the provider's timeout (e.g. restored after a restart)
+    public static SeatLock until(Seat seat, Show show, User lockedBy, long lockTimeMillis, long expiresAtMillis) {
+        return new SeatLock(seat, show, lockedBy, lockTimeMillis, expiresAtMillis);
+    }
 
     public boolean isLockExpired() {
-        final Instant lockInstant = lockTime.toInstant().plusSeconds(timeoutInSeconds);
-        final Instant currentInstant = new Date().toInstant();
-        return lockInstant.isBefore(currentInstant);
+        return expiresAtMillis < System.currentTimeMillis();
     }
 
-    public Seat getSeat() {
-        return seat;
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
     }
 
-    public void setSeat(Seat seat) {
-        this.seat = seat;
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof SeatLock seatLock) {
+            return Long.compare(expiresAtMillis, seatLock.expiresAtMillis);
+        }
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
     }
 
-    public Show getShow() {
-        return show;
+    public Seat getSeat() {
+        return seat;
     }
 
-    public void setShow(Show show) {
-        this.show = show;
+    public Show getShow() {
+        return show;
     }
 
     public User getLockedBy() {
         return lockedBy;
     }
 
-    public void setLockedBy(User lockedBy) {
-        this.lockedBy = lockedBy;
-    }
-
     public Integer getTimeoutInSeconds() {
         return timeoutInSeconds;
     }
 
-    public void setTimeoutInSeconds(Integer timeoutInSeconds) {
-        this.timeoutInSeconds = timeoutInSeconds;
-    }
-
     public Date getLockTime() {
-        return lockTime;
+        return new Date(lockTimeMillis);
     }
 
-    public void setLockTime(Date lockTime) {
-        this.lockTime = lockTime;
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
     }
 }
@@ -1,14 +1,29 @@
 package org.example.user;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class User {
+    private static final AtomicInteger userCounter = new AtomicInteger(0);
+
+    private final int id; // Numeric id, used to tag the seats this user holds
     private final String name; // Name of the user
     private final String emailAddress;  // Email of the User
 
     public User(final String name, final String emailAddress) {
+        this(userCounter.incrementAndGet(), name, emailAddress);
+    }
+
+    // Recreates a known user (e.g. on recovery); later users get higher IDs
+    public User(final int id, final String name, final String emailAddress) {
+        userCounter.accumulateAndGet(id, Math::max);
+        this.id = id;
         this.name = name;
         this.emailAddress = emailAddress;
     }
     // Getters Section Start
+    public int getUserId() {
+        return id;
+    }
     public String getUserName() {
         return name;
     }
@@ -16,4 +31,17 @@ public class User {
         return emailAddress;
     }
 
+    // Users are identified by ID, so a user recreated on recovery matches their bookings
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof User user)) return false;
+        return id == user.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
+    }
+
 }